@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.example"
@@ -17,6 +18,15 @@ repositories {
     mavenCentral()
 }
 
+// End-to-end load test (src/loadTest), run with ./gradlew loadTest
+val loadTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     // Spring Boot Starters
     implementation("org.springframework.boot:spring-boot-starter-web")
@@ -24,9 +34,24 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.boot:spring-boot-starter-data-mongodb")
 
+    // Reactive stack, served instead of Spring MVC under the 'reactive' profile
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework.boot:spring-boot-starter-data-mongodb-reactive")
+
+    // Mongo wire compression codecs (app.mongo.compressors); zstd also encodes HTTP responses (app.compression)
+    implementation("com.github.luben:zstd-jni:1.5.6-3")
+    runtimeOnly("org.xerial.snappy:snappy-java:1.1.10.7")
+
     // Jackson Datatype for Java 8 Date/Time (Instant, LocalDate, etc.)
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
 
+    // Jackson Blackbird (generated property accessors instead of reflection)
+    implementation("com.fasterxml.jackson.module:jackson-module-blackbird")
+
+    // Binary response formats (CBOR, Smile) negotiated through Accept
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+
     // Lombok
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
@@ -34,13 +59,26 @@ dependencies {
     // Logging (Slf4j is included in Spring Boot, but adding explicit bridge if needed)
     implementation("org.slf4j:slf4j-api:2.0.16")
 
+    // Caffeine (in-process user cache)
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
     // Apache Commons BeanUtils
     implementation("commons-beanutils:commons-beanutils:1.9.4")
 
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("io.projectreactor:reactor-test")
     testImplementation("org.mockito:mockito-core:5.13.0")
     testImplementation("org.mockito:mockito-junit-jupiter:5.13.0")
+    // embedded mongod for the query-plan tests; they are skipped where it cannot start
+    testImplementation("de.flapdoodle.embed:de.flapdoodle.embed.mongo:4.16.1")
+
+    // Load test (src/loadTest): latency histograms and an embedded mongod
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+    "loadTestImplementation"("de.flapdoodle.embed:de.flapdoodle.embed.mongo:4.16.1")
+
+    // Benchmarks (src/jmh): embedded mongod for the service benchmarks
+    jmh("de.flapdoodle.embed:de.flapdoodle.embed.mongo:4.16.1")
 }
 
 tasks.withType<Test> {
@@ -48,6 +86,27 @@ tasks.withType<Test> {
     systemProperty("spring.profiles.active", "test")
 }
 
+// ./gradlew jmh                          -> all benchmarks, results in build/results/jmh/results.json
+// ./gradlew jmh -Pjmh.includes=Converter -> only benchmarks whose name matches
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    (findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+}
+
+// ./gradlew loadTest -Ploadtest.users=50000 -Ploadtest.concurrency=128 -Ploadtest.mix=read:90,update:10
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Boots the service against Mongo, seeds users and reports latency percentiles for a read/write mix."
+    classpath = loadTest.runtimeClasspath
+    mainClass.set("com.sid.app.loadtest.LoadTestMain")
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+}
+
 tasks.jar {
     enabled = false
 }
@@ -0,0 +1,94 @@
+package com.sid.app.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sid.app.config.JacksonConfig;
+import com.sid.app.constant.AppConstants;
+import com.sid.app.entity.User;
+import com.sid.app.model.ApiResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing the list envelope returned by the user endpoints, {@code ApiResponse<List<User>>},
+ * with an {@link ObjectMapper} built the way Spring MVC builds its message converter's mapper.
+ * Run with {@code -prof gc} (the default in {@code build.gradle.kts}) to see bytes allocated per operation.
+ * <p>
+ * {@code json=baseline} is the original path: reflective property access, thread-local buffers and the
+ * {@code @JsonFormat} pattern formatter for timestamps. {@code json=tuned} applies {@link JacksonConfig}
+ * and the entity's own timestamp serializer, as the application does. {@code json=tunedPattern} applies
+ * {@link JacksonConfig} but keeps the pattern formatter, isolating what the timestamp serializer saves.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int users;
+
+    @Param({"baseline", "tunedPattern", "tuned"})
+    public String json;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter responseWriter;
+    private ApiResponse<List<User>> response;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (!"baseline".equals(json)) {
+            new JacksonConfig().jsonSerializationTuning().customize(builder);
+        }
+        if (!"tuned".equals(json)) {
+            builder.mixIn(User.class, PatternTimestamps.class);
+        }
+        objectMapper = builder.build();
+        responseWriter = objectMapper.writerFor(ApiResponse.class);
+        response = ApiResponse.<List<User>>builder()
+                .statusCode(HttpStatus.OK.value())
+                .status(AppConstants.STATUS_SUCCESS)
+                .message(AppConstants.MSG_USERS_FETCHED)
+                .data(BenchmarkUsers.users(users))
+                .build();
+    }
+
+    /**
+     * What the message converter does per response: serialize with the shared mapper.
+     */
+    @Benchmark
+    public byte[] writeWithMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    /**
+     * Same payload through a pre-resolved {@link ObjectWriter}, skipping the root serializer lookup.
+     */
+    @Benchmark
+    public byte[] writeWithPreparedWriter() throws Exception {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    /**
+     * Restores the pattern-formatted timestamps {@code User} had before {@code UtcInstantSerializer}.
+     */
+    abstract static class PatternTimestamps {
+
+        @JsonSerialize(using = JsonSerializer.None.class)
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = AppConstants.TIMESTAMP_PATTERN, timezone = "UTC")
+        Instant createdAt;
+
+        @JsonSerialize(using = JsonSerializer.None.class)
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = AppConstants.TIMESTAMP_PATTERN, timezone = "UTC")
+        Instant updatedAt;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sid.app.benchmark;
+
+import com.sid.app.entity.User;
+import com.sid.app.util.SearchNormalizer;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic {@link User} fixtures shared by the benchmarks.
+ */
+final class BenchmarkUsers {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    private BenchmarkUsers() {
+        // prevent instantiation
+    }
+
+    /**
+     * A fully populated user, with an id and the derived search fields, as it is read back from Mongo.
+     */
+    static User user(int i) {
+        String name = "User Number " + i;
+        String email = "user" + i + "@example" + (i % 10) + ".com";
+        return User.builder()
+                .id(new ObjectId().toHexString())
+                .name(name)
+                .email(email)
+                .phone("+1 555 010 " + String.format("%04d", i % 10_000))
+                .role(i % 20 == 0 ? "ADMIN" : "USER")
+                .status("ACTIVE")
+                .address(i + " Main Street, Springfield")
+                .createdAt(CREATED_AT.plusSeconds(i))
+                .updatedAt(CREATED_AT.plusSeconds(i * 2L))
+                .emailDomain(SearchNormalizer.emailDomain(email))
+                .nameTokens(SearchNormalizer.nameTokens(name))
+                .version((long) (i % 5))
+                .build();
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,71 @@
+package com.sid.app.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sid.app.config.JacksonConfig;
+import com.sid.app.constant.AppConstants;
+import com.sid.app.entity.User;
+import com.sid.app.model.ApiResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of {@code ApiResponse<List<User>>} as JSON, CBOR and Smile, with mappers configured like the
+ * application's message converters. The encoded size of each payload is printed once per trial, so the size and the
+ * time/allocation numbers come from the same run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryFormatBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int users;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private ApiResponse<List<User>> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        new JacksonConfig().jsonSerializationTuning().customize(builder);
+        ObjectMapper mapper = builder.build();
+        writer = mapper.writerFor(ApiResponse.class);
+        reader = mapper.readerFor(new TypeReference<ApiResponse<List<User>>>() {
+        });
+        response = ApiResponse.<List<User>>builder()
+                .statusCode(HttpStatus.OK.value())
+                .status(AppConstants.STATUS_SUCCESS)
+                .message(AppConstants.MSG_USERS_FETCHED)
+                .data(BenchmarkUsers.users(users))
+                .build();
+        encoded = writer.writeValueAsBytes(response);
+        System.out.printf("%n%s payload for %d users: %d bytes%n", format, users, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ApiResponse<List<User>> decode() throws Exception {
+        return reader.readValue(encoded);
+    }
+}
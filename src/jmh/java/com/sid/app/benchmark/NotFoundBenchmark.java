@@ -0,0 +1,68 @@
+package com.sid.app.benchmark;
+
+import com.sid.app.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of one 404 for a missing user id, excluding I/O: the exception is thrown from {@value #DEPTH} frames down
+ * (about the depth of a Spring MVC handler call) and caught at the top, then turned into the log line.
+ * <ul>
+ *     <li>{@code stack}: the previous behaviour, a regular exception logged at ERROR with its stack trace
+ *     (formatted into a string, as the log encoder would)</li>
+ *     <li>{@code stackless}: {@link ResourceNotFoundException} as it is now, logged with its message only</li>
+ * </ul>
+ * The rate limiting in the exception handlers is left out, so this is the cost of every 404 that still gets logged.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotFoundBenchmark {
+
+    private static final int DEPTH = 80;
+
+    @Param({"stack", "stackless"})
+    public String exception;
+
+    private boolean stackless;
+
+    /**
+     * ResourceNotFoundException as it was declared before it became stackless.
+     */
+    private static final class StackNotFoundException extends RuntimeException {
+        StackNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        stackless = "stackless".equals(exception);
+    }
+
+    @Benchmark
+    public String notFound() {
+        try {
+            lookup(DEPTH, "66f1c0ffee0000000000beef");
+            throw new AssertionError("lookup must throw");
+        } catch (RuntimeException ex) {
+            if (stackless) {
+                return "Resource not found: " + ex.getMessage();
+            }
+            StringWriter line = new StringWriter();
+            line.append("Resource not found: ").append(ex.getMessage()).append('\n');
+            ex.printStackTrace(new PrintWriter(line));
+            return line.toString();
+        }
+    }
+
+    private Object lookup(int depth, String id) {
+        if (depth > 0) {
+            return lookup(depth - 1, id);
+        }
+        throw stackless ? new ResourceNotFoundException("User not found: " + id) : new StackNotFoundException("User not found: " + id);
+    }
+}
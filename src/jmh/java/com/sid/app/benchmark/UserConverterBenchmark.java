@@ -0,0 +1,56 @@
+package com.sid.app.benchmark;
+
+import com.sid.app.entity.User;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a {@link User} to and from a BSON {@link Document} with {@link MappingMongoConverter},
+ * which runs on every repository and template read and write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserConverterBenchmark {
+
+    private MappingMongoConverter converter;
+    private User user;
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setInitialEntitySet(Set.of(User.class));
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        user = BenchmarkUsers.user(42);
+        document = new Document();
+        converter.write(user, document);
+    }
+
+    @Benchmark
+    public Document write() {
+        Document target = new Document();
+        converter.write(user, target);
+        return target;
+    }
+
+    @Benchmark
+    public User read() {
+        return converter.read(User.class, document);
+    }
+}
@@ -0,0 +1,133 @@
+package com.sid.app.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sid.app.audit.AuditPublisher;
+import com.sid.app.cache.UserCache;
+import com.sid.app.cache.UserExistenceFilter;
+import com.sid.app.config.AuditProperties;
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import com.sid.app.model.CursorPage;
+import com.sid.app.model.UserPatchRequest;
+import com.sid.app.repository.UserRepository;
+import com.sid.app.repository.UserSearchFieldsCallback;
+import com.sid.app.service.MongoConcurrencyLimiter;
+import com.sid.app.service.UserLookupCoalescer;
+import com.sid.app.service.UserService;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.callback.EntityCallbacks;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency of the {@link UserService} CRUD paths against a real, embedded {@code mongod}
+ * (downloaded and started by flapdoodle on first run), so driver, mapping and service overhead are all included.
+ * The user cache is off unless {@code cache=true}, so reads measure the Mongo round-trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+
+    private static final int SEEDED_USERS = 10_000;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private MongoClient mongoClient;
+    private UserService userService;
+    private List<String> ids;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongod = Mongod.instance().start(Version.Main.V7_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        mongoClient = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "users_bench");
+        mongoTemplate.setEntityCallbacks(EntityCallbacks.create(new UserSearchFieldsCallback()));
+        mongoTemplate.indexOps(User.class).createIndex(new Index("email", Sort.Direction.ASC).unique());
+        UserRepository userRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(UserRepository.class);
+
+        UserProperties userProperties = new UserProperties();
+        userProperties.getCache().setEnabled(cache);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditProperties auditProperties = new AuditProperties();
+        auditProperties.getPipeline().setEnabled(false);
+        userService = new UserService(userRepository, mongoTemplate, userProperties,
+                new UserCache(userProperties, meterRegistry), new MongoConcurrencyLimiter(userProperties, meterRegistry),
+                new AuditPublisher(auditProperties, new ObjectMapper(), meterRegistry),
+                new UserExistenceFilter(mongoTemplate, userProperties, meterRegistry),
+                new UserLookupCoalescer(userProperties, meterRegistry));
+
+        List<User> seed = BenchmarkUsers.users(SEEDED_USERS);
+        seed.forEach(user -> user.setVersion(null));
+        ids = mongoTemplate.insertAll(seed).stream().map(User::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoClient.close();
+        mongod.close();
+    }
+
+    @Benchmark
+    public User findById() {
+        return userService.findById(randomId());
+    }
+
+    @Benchmark
+    public User findByEmail() {
+        int i = ThreadLocalRandom.current().nextInt(SEEDED_USERS);
+        return userService.findByEmail("user" + i + "@example" + (i % 10) + ".com");
+    }
+
+    @Benchmark
+    public CursorPage<User> findPage() {
+        return userService.findPage(null, 50);
+    }
+
+    @Benchmark
+    public User create() {
+        long n = sequence.incrementAndGet();
+        return userService.create(User.builder()
+                .name("Bench User " + n)
+                .email("bench" + n + "@example.com")
+                .role("USER")
+                .build());
+    }
+
+    @Benchmark
+    public User patch() {
+        return userService.patch(randomId(), UserPatchRequest.builder()
+                .address(sequence.incrementAndGet() + " Bench Street")
+                .build(), null);
+    }
+
+    @Benchmark
+    public void createAndDelete() {
+        User created = create();
+        userService.delete(created.getId(), null);
+    }
+
+    private String randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.sid.app.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load-test settings, read from {@code loadtest.*} system properties
+ * ({@code ./gradlew loadTest -Ploadtest.users=50000 -Ploadtest.mix=read:90,update:10}).
+ *
+ * @param mongoUri    Mongo to run against; blank starts an embedded {@code mongod}
+ * @param profiles    Spring profiles the service runs with, e.g. {@code reactive}; empty for the defaults
+ * @param users       number of users seeded before the run
+ * @param concurrency number of concurrent closed-loop clients
+ * @param warmup      run time discarded before measuring
+ * @param duration    measured run time
+ * @param mix         relative weight of each operation
+ * @param label       name of the run in the report, e.g. a commit id
+ * @param reportDir   directory the JSON report is written to
+ */
+record LoadTestConfig(String mongoUri, List<String> profiles, int users, int concurrency, Duration warmup, Duration duration,
+                      Map<Operation, Integer> mix, String label, String reportDir) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadtest.mongoUri", ""),
+                Arrays.stream(System.getProperty("loadtest.profiles", "").split(","))
+                        .map(String::trim)
+                        .filter(profile -> !profile.isEmpty())
+                        .toList(),
+                Integer.getInteger("loadtest.users", 10_000),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s").toUpperCase(Locale.ROOT)),
+                Duration.parse("PT" + System.getProperty("loadtest.duration", "60s").toUpperCase(Locale.ROOT)),
+                parseMix(System.getProperty("loadtest.mix", "read:70,list:10,update:15,create:5")),
+                System.getProperty("loadtest.label", "local"),
+                System.getProperty("loadtest.reportDir", "build/reports/loadtest"));
+    }
+
+    /**
+     * Parses {@code op:weight,op:weight}; operations left out get weight 0.
+     */
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + part + "', expected op:weight");
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative: " + part);
+            }
+            mix.put(Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("At least one operation needs a positive weight: " + spec);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,259 @@
+package com.sid.app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sid.app.MongoDBServiceApp;
+import com.sid.app.constant.AppConstants;
+import com.sid.app.util.CursorCodec;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test: boots {@link MongoDBServiceApp} on a random port against the configured Mongo
+ * (or an embedded {@code mongod}), seeds users through {@code POST /users/_bulk}, then runs closed-loop
+ * clients issuing a weighted mix of {@link Operation}s for a fixed time and reports latency percentiles.
+ * The stacks without a bulk endpoint ({@code reactive}) are seeded with one {@code POST /users} per user.
+ * <p>
+ * Clients are closed-loop (each waits for its response before sending the next request), so reported
+ * latencies do not include queueing that an open-loop client at the same rate would have seen.
+ * </p>
+ */
+public final class LoadTestMain {
+
+    private static final int SEED_BATCH = 5_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong createSequence = new AtomicLong();
+    private String usersUrl;
+    private List<String> ids;
+
+    private LoadTestMain(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestMain(LoadTestConfig.fromSystemProperties()).run();
+    }
+
+    private void run() throws Exception {
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        String mongoUri = config.mongoUri();
+        if (mongoUri.isBlank()) {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            ServerAddress address = mongod.current().getServerAddress();
+            mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/users_loadtest";
+        }
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(MongoDBServiceApp.class)
+                .profiles(config.profiles().toArray(String[]::new))
+                .properties(
+                        "server.port=0",
+                        "spring.data.mongodb.uri=" + mongoUri,
+                        "spring.data.mongodb.database=users_loadtest",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.com.sid=WARN")
+                .run();
+        try {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            usersUrl = "http://localhost:" + port + AppConstants.USERS_API;
+            seed();
+            ids = loadIds();
+            System.out.printf("Seeded %d users; warming up for %ds%n", ids.size(), config.warmup().toSeconds());
+            drive();
+        } finally {
+            app.close();
+            if (mongod != null) {
+                mongod.close();
+            }
+            http.close();
+        }
+    }
+
+    private void seed() throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        boolean bulk = true;
+        for (int start = 0; start < config.users(); start += SEED_BATCH) {
+            List<String> users = new ArrayList<>();
+            for (int i = start; i < Math.min(config.users(), start + SEED_BATCH); i++) {
+                users.add(objectMapper.writeValueAsString(Map.of(
+                        "name", "Load User " + i,
+                        "email", "load" + i + "-" + runId + "@example.com",
+                        "role", i % 20 == 0 ? "ADMIN" : "USER",
+                        "phone", "+1 555 010 1234",
+                        "address", i + " Main Street")));
+            }
+            bulk = bulk && seedBulk(users);
+            if (!bulk) {
+                seedOneByOne(users);
+            }
+        }
+    }
+
+    /**
+     * Sends one {@code POST /users/_bulk}; false if the running stack has no bulk endpoint.
+     */
+    private boolean seedBulk(List<String> users) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(usersUrl + AppConstants.USERS_BULK_PATH))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(String.join("\n", users) + "\n"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404 || response.statusCode() == 405) {
+            return false;
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+        return true;
+    }
+
+    private void seedOneByOne(List<String> users) throws Exception {
+        List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+        try (ExecutorService senders = Executors.newFixedThreadPool(config.concurrency(), Thread.ofVirtual().factory())) {
+            for (String user : users) {
+                responses.add(senders.submit(() -> http.send(HttpRequest.newBuilder(URI.create(usersUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(user))
+                        .build(), HttpResponse.BodyHandlers.ofString())));
+            }
+        }
+        for (Future<HttpResponse<String>> future : responses) {
+            HttpResponse<String> response = future.get();
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+        }
+    }
+
+    private List<String> loadIds() throws Exception {
+        HttpResponse<InputStream> response = http.send(HttpRequest.newBuilder(URI.create(usersUrl + AppConstants.USERS_EXPORT_PATH))
+                .header("Accept", "application/x-ndjson")
+                .build(), HttpResponse.BodyHandlers.ofInputStream());
+        List<String> loaded = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    loaded.add(objectMapper.readTree(line).path("id").asText());
+                }
+            }
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("No users to run against");
+        }
+        return loaded;
+    }
+
+    private void drive() throws Exception {
+        LoadTestReport report = new LoadTestReport();
+        Operation[] schedule = schedule(config.mix());
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+
+        Instant startedAt = Instant.now();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < config.concurrency(); c++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                        long start = System.nanoTime();
+                        boolean ok = execute(operation);
+                        report.record(operation, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), ok);
+                    }
+                    return null;
+                });
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+            report.reset();
+            long measureStart = System.nanoTime();
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, end - System.nanoTime()));
+            report.finish(Duration.ofNanos(System.nanoTime() - measureStart));
+        }
+
+        report.print(config, System.out);
+        Path file = report.write(config, startedAt);
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+
+    /**
+     * Executes one request and tells whether it got the expected 2xx status.
+     */
+    private boolean execute(Operation operation) {
+        try {
+            HttpRequest request = switch (operation) {
+                case READ -> HttpRequest.newBuilder(URI.create(usersUrl + "/" + randomId())).GET().build();
+                case LIST -> HttpRequest.newBuilder(URI.create(usersUrl + "?limit=50&cursor=" + CursorCodec.encode(randomId())))
+                        .GET().build();
+                case UPDATE -> HttpRequest.newBuilder(URI.create(usersUrl + "/" + randomId()))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                "{\"address\":\"" + ThreadLocalRandom.current().nextInt(10_000) + " Load Street\"}"))
+                        .build();
+                case CREATE -> HttpRequest.newBuilder(URI.create(usersUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of(
+                                "name", "Created User",
+                                "email", "created-" + System.nanoTime() + "-" + createSequence.incrementAndGet() + "@example.com",
+                                "role", "USER"))))
+                        .build();
+            };
+            HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(request, (name, value) -> true)
+                    .timeout(REQUEST_TIMEOUT)
+                    .build(), HttpResponse.BodyHandlers.ofByteArray());
+            return response.statusCode() / 100 == 2;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    private String randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    /**
+     * Expands the weights into a lookup table: a uniformly random slot picks an operation with its weighted probability.
+     */
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(Operation[]::new);
+    }
+}
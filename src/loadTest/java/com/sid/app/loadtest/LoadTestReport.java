@@ -0,0 +1,127 @@
+package com.sid.app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microseconds) and error counts, and the text/JSON reports built from them.
+ */
+final class LoadTestReport {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> measured = new EnumMap<>(Operation.class);
+    private Duration elapsed = Duration.ZERO;
+
+    LoadTestReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyMicros, boolean success) {
+        recorders.get(operation).recordValue(Math.max(1, latencyMicros));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Discards everything recorded so far (the warm-up).
+     */
+    void reset() {
+        recorders.values().forEach(Recorder::getIntervalHistogram);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Freezes what was recorded since the last {@link #reset()} as the measured interval.
+     */
+    void finish(Duration elapsed) {
+        this.elapsed = elapsed;
+        recorders.forEach((operation, recorder) -> measured.put(operation, recorder.getIntervalHistogram()));
+    }
+
+    void print(LoadTestConfig config, PrintStream out) {
+        out.printf("%nLoad test '%s' (profiles %s): %d users seeded, %d clients, %ds measured%n",
+                config.label(), config.profiles(), config.users(), config.concurrency(), elapsed.toSeconds());
+        out.printf("%-8s %10s %10s %8s %10s %10s %10s %10s%n",
+                "op", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<Operation, Histogram> entry : measured.entrySet()) {
+            Histogram h = entry.getValue();
+            if (h.getTotalCount() == 0) {
+                continue;
+            }
+            total += h.getTotalCount();
+            out.printf("%-8s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey().name().toLowerCase(), h.getTotalCount(), throughput(h.getTotalCount()),
+                    errors.get(entry.getKey()).sum(),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+        }
+        out.printf("%-8s %10d %10.1f%n", "total", total, throughput(total));
+    }
+
+    /**
+     * Writes the report as JSON, named after the label and start time so runs from different commits sit side by side.
+     *
+     * @return the written file
+     */
+    Path write(LoadTestConfig config, Instant startedAt) throws IOException {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        measured.forEach((operation, h) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", h.getTotalCount());
+            stats.put("errors", errors.get(operation).sum());
+            stats.put("throughputPerSec", throughput(h.getTotalCount()));
+            stats.put("p50Ms", millis(h.getValueAtPercentile(50)));
+            stats.put("p99Ms", millis(h.getValueAtPercentile(99)));
+            stats.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+            stats.put("maxMs", millis(h.getMaxValue()));
+            operations.put(operation.name().toLowerCase(), stats);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label());
+        report.put("profiles", config.profiles());
+        report.put("startedAt", startedAt.toString());
+        report.put("users", config.users());
+        report.put("concurrency", config.concurrency());
+        report.put("durationSec", elapsed.toSeconds());
+        report.put("mix", config.mix());
+        report.put("operations", operations);
+
+        Path dir = Path.of(config.reportDir());
+        Files.createDirectories(dir);
+        Path file = dir.resolve(config.label() + "-" + FILE_TIMESTAMP.format(startedAt) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+    private double throughput(long count) {
+        return elapsed.isZero() ? 0 : count * 1000.0 / elapsed.toMillis();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.sid.app.loadtest;
+
+/**
+ * Requests issued by the load test, each recorded in its own latency histogram.
+ */
+enum Operation {
+
+    /** {@code GET /users/{id}} for a random seeded user. */
+    READ,
+
+    /** {@code GET /users?limit=50} starting from a random seeded user. */
+    LIST,
+
+    /** {@code PATCH /users/{id}} changing the address of a random seeded user. */
+    UPDATE,
+
+    /** {@code POST /users} with a new, unique email. */
+    CREATE
+}
@@ -0,0 +1,12 @@
+package com.sid.app.audit;
+
+/**
+ * Kind of user write recorded in an {@link AuditEvent}.
+ */
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    PATCH,
+    DELETE,
+    UPSERT
+}
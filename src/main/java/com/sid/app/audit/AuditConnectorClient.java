@@ -0,0 +1,58 @@
+package com.sid.app.audit;
+
+import com.sid.app.config.AuditProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Posts batches of serialized {@link AuditEvent}s to {@code audit.connector.url} as one JSON array.
+ */
+final class AuditConnectorClient {
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final String authorization;
+    private final AuditProperties.Connector connector;
+
+    AuditConnectorClient(AuditProperties.Connector connector) {
+        this.connector = connector;
+        this.uri = URI.create(connector.getUrl());
+        this.authorization = StringUtils.hasText(connector.getUsername())
+                ? "Basic " + Base64.getEncoder().encodeToString(
+                (connector.getUsername() + ":" + connector.getPassword()).getBytes(StandardCharsets.UTF_8))
+                : null;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connector.getConnectTimeout())
+                .build();
+    }
+
+    /**
+     * Sends one batch and waits for the answer.
+     *
+     * @param events events already serialized as JSON objects
+     * @throws IOException when the connector cannot be reached or answers with a non-2xx status
+     */
+    void send(List<String> events) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(connector.getRequestTimeout())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("[" + String.join(",", events) + "]", StandardCharsets.UTF_8));
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Audit connector answered " + response.statusCode());
+        }
+    }
+}
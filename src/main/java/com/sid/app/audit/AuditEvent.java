@@ -0,0 +1,52 @@
+package com.sid.app.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One audited write to a user, as delivered to the audit connector.
+ * Delivery is at least once; receivers de-duplicate on {@link #id}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEvent {
+
+    /**
+     * Unique event id (random UUID).
+     */
+    private String id;
+
+    private AuditAction action;
+
+    /**
+     * Id of the user that was written.
+     */
+    private String userId;
+
+    /**
+     * User version after the write; null for deletes and bulk upserts.
+     */
+    private Long version;
+
+    /**
+     * When the write was acknowledged by MongoDB.
+     */
+    private Instant occurredAt;
+
+    public static AuditEvent of(AuditAction action, String userId, Long version) {
+        return AuditEvent.builder()
+                .id(UUID.randomUUID().toString())
+                .action(action)
+                .userId(userId)
+                .version(version)
+                .occurredAt(Instant.now())
+                .build();
+    }
+}
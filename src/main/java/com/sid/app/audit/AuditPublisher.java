@@ -0,0 +1,301 @@
+package com.sid.app.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sid.app.config.AuditProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ships {@link AuditEvent}s to the audit connector off the request thread.
+ * <p>
+ * {@link #publish(AuditEvent)} only enqueues into a bounded in-memory queue and never does I/O, so it is safe on
+ * event-loop threads. A single worker drains the queue into batches of up to {@code audit.pipeline.batch-size}
+ * events, sending a batch once it is full or its oldest event has waited {@code flush-interval}. Failed batches are
+ * retried with exponential backoff; once {@code max-attempts} is used up, events are appended to the spill file
+ * instead of being dropped, and the file is replayed as soon as the connector accepts a batch again. Events that find
+ * the queue full wait in a second buffer of the same size, which the worker writes to the spill file; only when that
+ * is full too are they dropped. Delivery is at least once: a replay or a retry after a timeout may
+ * repeat events, which carry a unique id for de-duplication.
+ * </p>
+ * Published metrics:
+ * <ul>
+ *     <li>{@value #EVENTS}: events by outcome ({@code delivered}, {@code spilled}, {@code replayed}, {@code dropped})</li>
+ *     <li>{@value #QUEUE_SIZE}: events waiting in memory for delivery</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class AuditPublisher implements SmartLifecycle {
+
+    public static final String EVENTS = "audit.events";
+    public static final String QUEUE_SIZE = "audit.queue.size";
+
+    private final AuditProperties.Pipeline settings;
+    private final ObjectMapper objectMapper;
+    private final AuditConnectorClient client;
+    private final AuditSpillFile spillFile;
+    private final BlockingQueue<AuditEvent> queue;
+    private final BlockingQueue<AuditEvent> overflow;
+    private final Counter delivered;
+    private final Counter spilled;
+    private final Counter replayed;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile Thread worker;
+    private volatile boolean spillPending;
+    private long nextReplayNanos;
+
+    public AuditPublisher(AuditProperties auditProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.settings = auditProperties.getPipeline();
+        this.objectMapper = objectMapper;
+        this.client = settings.isEnabled() ? new AuditConnectorClient(auditProperties.getConnector()) : null;
+        this.spillFile = new AuditSpillFile(settings.getSpillFile());
+        this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        this.overflow = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        this.delivered = outcome(meterRegistry, "delivered");
+        this.spilled = outcome(meterRegistry, "spilled");
+        this.replayed = outcome(meterRegistry, "replayed");
+        this.dropped = outcome(meterRegistry, "dropped");
+        Gauge.builder(QUEUE_SIZE, queue, Collection::size)
+                .description("Audit events waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(EVENTS)
+                .description("Audit events by delivery outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an event for delivery without blocking or doing I/O. When the queue is full, the event is handed to the
+     * worker to spill; once the publisher has stopped, it is spilled on the calling thread. Never throws.
+     */
+    public void publish(AuditEvent event) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        if (stopped) {
+            spill(List.of(event));
+        } else if (!queue.offer(event) && !overflow.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Runs just before the web server would start and stops only after it has drained in-flight requests,
+     * so every write those requests make is still audited.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void start() {
+        if (!settings.isEnabled()) {
+            log.info("Audit publishing is disabled");
+            return;
+        }
+        running = true;
+        stopped = false;
+        spillPending = spillFile.hasPending();
+        Thread thread = new Thread(this::run, "audit-publisher");
+        thread.setDaemon(true);
+        thread.start();
+        worker = thread;
+        log.info("Audit publisher started, batchSize={} flushInterval={} spillPending={}",
+                settings.getBatchSize(), settings.getFlushInterval(), spillPending);
+    }
+
+    /**
+     * Lets the worker send what it holds with a single attempt, then spills whatever is still queued.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        stopped = true;
+        Thread current = worker;
+        if (current != null) {
+            try {
+                current.join(settings.getFlushInterval().toMillis() * 2);
+                if (current.isAlive()) {
+                    current.interrupt();
+                    current.join(settings.getFlushInterval().toMillis());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<AuditEvent> remaining = new ArrayList<>();
+        overflow.drainTo(remaining);
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+        }
+        log.info("Audit publisher stopped, {} queued events spilled", remaining.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        int batchSize = settings.getBatchSize();
+        long flushNanos = settings.getFlushInterval().toNanos();
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                spillOverflow();
+                AuditEvent first = queue.poll(flushNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    replaySpilled();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    AuditEvent next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                if (deliver(batch)) {
+                    replaySpilled();
+                }
+            } catch (InterruptedException ex) {
+                if (!batch.isEmpty()) {
+                    spill(batch);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Sends one batch, retrying with exponential backoff, and spills it if every attempt fails.
+     *
+     * @return whether the connector accepted the batch
+     */
+    private boolean deliver(List<AuditEvent> batch) {
+        List<String> lines = serialize(batch);
+        if (lines.isEmpty()) {
+            return false;
+        }
+        int attempts = running ? Math.max(1, settings.getMaxAttempts()) : 1;
+        long backoff = settings.getInitialBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                client.send(lines);
+                delivered.increment(lines.size());
+                return true;
+            } catch (IOException ex) {
+                if (attempt >= attempts || !running) {
+                    log.warn("Audit batch of {} events failed after {} attempts, spilling: {}", lines.size(), attempt, ex.getMessage());
+                    spillLines(lines);
+                    return false;
+                }
+                log.debug("Audit batch attempt {} failed, retrying in {}ms: {}", attempt, backoff, ex.getMessage());
+                spillOverflow();
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    spillLines(lines);
+                    return false;
+                }
+                backoff = Math.min(backoff * 2, settings.getMaxBackoff().toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                spillLines(lines);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Sends the spill file with a single attempt per batch. After a failure, the next replay waits {@code max-backoff}.
+     */
+    private void replaySpilled() throws InterruptedException {
+        if (!spillPending || !running || System.nanoTime() - nextReplayNanos < 0) {
+            return;
+        }
+        try {
+            int sent = spillFile.replay(settings.getBatchSize(), client::send);
+            spillPending = false;
+            if (sent > 0) {
+                replayed.increment(sent);
+                log.info("Replayed {} spilled audit events", sent);
+            }
+        } catch (IOException ex) {
+            nextReplayNanos = System.nanoTime() + settings.getMaxBackoff().toNanos();
+            log.warn("Replaying spilled audit events failed, retrying in {}: {}", settings.getMaxBackoff(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes events that found the queue full to the spill file, on the worker thread.
+     */
+    private void spillOverflow() {
+        if (overflow.isEmpty()) {
+            return;
+        }
+        List<AuditEvent> events = new ArrayList<>();
+        overflow.drainTo(events);
+        spill(events);
+    }
+
+    private void spill(List<AuditEvent> events) {
+        List<String> lines = serialize(events);
+        if (!lines.isEmpty()) {
+            spillLines(lines);
+        }
+    }
+
+    private void spillLines(List<String> lines) {
+        try {
+            spillFile.append(lines);
+            spillPending = true;
+            spilled.increment(lines.size());
+        } catch (IOException ex) {
+            dropped.increment(lines.size());
+            log.error("Could not spill {} audit events to {}, they are lost: {}", lines.size(), settings.getSpillFile(), ex.getMessage(), ex);
+        }
+    }
+
+    private List<String> serialize(List<AuditEvent> events) {
+        List<String> lines = new ArrayList<>(events.size());
+        for (AuditEvent event : events) {
+            try {
+                lines.add(objectMapper.writeValueAsString(event));
+            } catch (JsonProcessingException ex) {
+                dropped.increment();
+                log.error("Could not serialize audit event id={}: {}", event.getId(), ex.getMessage());
+            }
+        }
+        return lines;
+    }
+}
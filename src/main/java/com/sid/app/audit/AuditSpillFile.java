@@ -0,0 +1,125 @@
+package com.sid.app.audit;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only NDJSON file holding audit events that could not be delivered, one serialized event per line.
+ * <p>
+ * Replay renames the file aside first, so new spills keep appending to a fresh file while the old one is sent.
+ * If a replay batch fails, the unsent lines stay in the renamed file and are picked up again by the next replay.
+ * </p>
+ */
+final class AuditSpillFile {
+
+    /**
+     * Delivers one batch of spilled lines; throwing leaves them for the next replay.
+     */
+    @FunctionalInterface
+    interface BatchSender {
+        void send(List<String> lines) throws IOException, InterruptedException;
+    }
+
+    private final Path file;
+    private final Path replaying;
+
+    AuditSpillFile(Path file) {
+        this.file = file;
+        this.replaying = file.resolveSibling(file.getFileName() + ".replaying");
+    }
+
+    synchronized void append(List<String> lines) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Whether anything is waiting to be replayed.
+     */
+    boolean hasPending() {
+        return Files.exists(replaying) || Files.exists(file);
+    }
+
+    /**
+     * Sends every spilled line in batches of {@code batchSize}, stopping at the first failed batch.
+     *
+     * @return number of lines delivered
+     */
+    int replay(int batchSize, BatchSender sender) throws IOException, InterruptedException {
+        synchronized (this) {
+            if (!Files.exists(replaying)) {
+                if (!Files.exists(file)) {
+                    return 0;
+                }
+                Files.move(file, replaying, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        int delivered = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(line);
+                if (batch.size() == batchSize) {
+                    delivered += sendOrKeep(batch, reader, sender);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                delivered += sendOrKeep(batch, reader, sender);
+            }
+        }
+        Files.deleteIfExists(replaying);
+        return delivered;
+    }
+
+    private int sendOrKeep(List<String> batch, BufferedReader rest, BatchSender sender)
+            throws IOException, InterruptedException {
+        try {
+            sender.send(batch);
+            return batch.size();
+        } catch (IOException | InterruptedException ex) {
+            keep(batch, rest);
+            throw ex;
+        }
+    }
+
+    /**
+     * Rewrites the replay file with the failed batch and everything not yet read.
+     */
+    private void keep(List<String> batch, BufferedReader rest) throws IOException {
+        Path tmp = replaying.resolveSibling(replaying.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (String line : batch) {
+                writer.write(line);
+                writer.newLine();
+            }
+            String line;
+            while ((line = rest.readLine()) != null) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+        Files.move(tmp, replaying, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
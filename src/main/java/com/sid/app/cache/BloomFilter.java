@@ -0,0 +1,121 @@
+package com.sid.app.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Bloom filter over strings: {@link #mightContain} never answers false for a string that was {@link #put}.
+ * <p>
+ * Sized for {@code expectedInsertions} at a target false-positive probability; adding more entries degrades the
+ * rate, which {@link #expectedFpp()} reports from the actual bit occupancy. Bit positions come from two 64-bit hashes
+ * combined as {@code h1 + i * h2} (Kirsch-Mitzenmacher); the second is derived from the first, so one pass over the
+ * string serves all probes.
+ * </p>
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final LongAdder setBits = new LongAdder();
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        long wordCount = (bitSize + 63) / 64;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter of " + bitSize + " bits is too large");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitSize = wordCount * 64;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * @param expectedInsertions entries the filter is sized for
+     * @param fpp                target false-positive probability at that size, e.g. {@code 0.01}
+     */
+    static BloomFilter create(long expectedInsertions, double fpp) {
+        if (expectedInsertions < 1 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive and fpp between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (LN2 * LN2));
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * LN2));
+        return new BloomFilter(bits, hashes);
+    }
+
+    void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitSize);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                long witness = words.compareAndExchange(word, current, current | mask);
+                if (witness == current) {
+                    setBits.increment();
+                    break;
+                }
+                current = witness;
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Probability that {@link #mightContain} answers true for a string never added, given the bits set so far.
+     */
+    double expectedFpp() {
+        return Math.pow((double) setBits.sum() / bitSize, hashFunctions);
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Heap used by the bit array.
+     */
+    long memoryBytes() {
+        return bitSize / 8;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 mixer so that nearby strings
+     * (sequential ids, emails differing in one character) spread across the whole bit range.
+     */
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,152 @@
+package com.sid.app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-evicting in-process cache for {@link User} lookups by id and by email.
+ * <p>
+ * Users are cached by id only; the email cache maps an email to an id, and a lookup through it is
+ * accepted only if the cached user still has that email. Evicting a user by id is therefore enough to
+ * invalidate both lookups, even after the user's email changed.
+ * Hit/miss/eviction counters are published as {@code cache.*} meters tagged {@code cache=users.byId}
+ * and {@code cache=users.byEmail}.
+ * </p>
+ * <p>
+ * Evictions are stamped with a generation number, and a reader passes the {@link #generation()} it saw before
+ * querying Mongo to {@link #put(User, long)}. A result read before a user was deleted or evicted is therefore
+ * dropped instead of bringing the user back until the TTL expires. Eviction stamps are kept for one TTL.
+ * </p>
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    private final boolean enabled;
+    private final Cache<String, User> byId;
+    private final Cache<String, String> idByEmail;
+    private final Cache<String, Long> evictedAt;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long clearedAt;
+
+    public UserCache(UserProperties userProperties, MeterRegistry meterRegistry) {
+        UserProperties.Cache settings = userProperties.getCache();
+        this.enabled = settings.isEnabled();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .expireAfterWrite(settings.getTtl())
+                .recordStats()
+                .build();
+        this.idByEmail = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .expireAfterWrite(settings.getTtl())
+                .recordStats()
+                .build();
+        this.evictedAt = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .expireAfterWrite(settings.getTtl())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByEmail, "users.byEmail");
+        log.info("User cache enabled={} maxSize={} ttl={}", enabled, settings.getMaxSize(), settings.getTtl());
+    }
+
+    /**
+     * @return the cached user, or null on a miss
+     */
+    public User getById(String id) {
+        return enabled ? byId.getIfPresent(id) : null;
+    }
+
+    /**
+     * @return the cached user with this email, or null on a miss
+     */
+    public User getByEmail(String email) {
+        if (!enabled) {
+            return null;
+        }
+        String id = idByEmail.getIfPresent(email);
+        if (id == null) {
+            return null;
+        }
+        User user = byId.getIfPresent(id);
+        if (user == null || !email.equals(user.getEmail())) {
+            idByEmail.invalidate(email);
+            return null;
+        }
+        return user;
+    }
+
+    /**
+     * @return the current generation; take it before reading a user from Mongo and pass it to {@link #put(User, long)}
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a user that no concurrent removal can race, e.g. one just seeded by a test.
+     */
+    public void put(User user) {
+        put(user, generation());
+    }
+
+    /**
+     * Caches a user read from or written to Mongo. The user is dropped if it was evicted, or the cache cleared,
+     * after {@code since}, so a lookup that raced a delete cannot resurrect it. Otherwise an entry is only replaced
+     * by a user with the same or a newer version, so a slow reader cannot overwrite a concurrent writer's result.
+     *
+     * @param since {@link #generation()} taken before the user was read or written
+     */
+    public void put(User user, long since) {
+        if (!enabled || user == null || user.getId() == null) {
+            return;
+        }
+        User current = byId.asMap().compute(user.getId(), (id, cached) -> {
+            Long evicted = evictedAt.getIfPresent(id);
+            if (since < clearedAt || (evicted != null && evicted > since)) {
+                return cached;
+            }
+            return cached == null ? user : newer(cached, user);
+        });
+        if (current == user && user.getEmail() != null) {
+            idByEmail.put(user.getEmail(), user.getId());
+        }
+    }
+
+    /**
+     * Drops a user from both lookups, and rejects results for it read before this call.
+     */
+    public void evict(String id) {
+        if (enabled && id != null) {
+            // stamped under the entry's lock, so a concurrent put sees either the stamp or its own entry removed
+            byId.asMap().compute(id, (key, cached) -> {
+                evictedAt.put(key, generation.incrementAndGet());
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Drops every cached user, and rejects results read before this call.
+     */
+    public void clear() {
+        clearedAt = generation.incrementAndGet();
+        byId.invalidateAll();
+        idByEmail.invalidateAll();
+    }
+
+    private static User newer(User cached, User incoming) {
+        long cachedVersion = cached.getVersion() == null ? 0L : cached.getVersion();
+        long incomingVersion = incoming.getVersion() == null ? 0L : incoming.getVersion();
+        return incomingVersion >= cachedVersion ? incoming : cached;
+    }
+}
@@ -0,0 +1,271 @@
+package com.sid.app.cache;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the local {@link UserCache} coherent across replicas by tailing a change stream on the
+ * {@code users} collection and evicting every user that is inserted, updated, replaced or deleted
+ * anywhere in the cluster.
+ * <p>
+ * The resume token is persisted per instance (throttled by {@code token-flush-interval}) so a restart
+ * resumes where the previous run stopped. Whenever the stream fails, the whole cache is cleared before
+ * reconnecting, because events may have been missed in between. Users inserted or given a new email on any replica
+ * are also added to the {@link UserExistenceFilter}. The filter is told when the stream is interrupted or lagging,
+ * so it stops answering "absent", and it is rebuilt whenever the stream reopens without a resume token.
+ * Requires MongoDB to run as a replica set; enable with {@code app.users.change-stream.enabled=true}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.users.change-stream", name = "enabled", havingValue = "true")
+@Slf4j
+public class UserChangeStreamListener implements SmartLifecycle {
+
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final String TOKEN_FIELD = "token";
+
+    private final MongoTemplate mongoTemplate;
+    private final UserCache userCache;
+    private final UserExistenceFilter existenceFilter;
+    private final UserProperties.ChangeStream settings;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+    private volatile BsonDocument resumeToken;
+    private volatile Instant lastTokenFlush = Instant.EPOCH;
+
+    public UserChangeStreamListener(MongoTemplate mongoTemplate, UserCache userCache, UserExistenceFilter existenceFilter,
+                                    UserProperties userProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.userCache = userCache;
+        this.existenceFilter = existenceFilter;
+        this.settings = userProperties.getChangeStream();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        existenceFilter.streamInterrupted();
+        resumeToken = loadResumeToken();
+        Thread thread = new Thread(this::run, "user-change-stream");
+        thread.setDaemon(true);
+        thread.start();
+        worker = thread;
+        log.info("User change stream listener started for instance={} resuming={}", settings.getInstanceId(), resumeToken != null);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        existenceFilter.streamInterrupted();
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join(settings.getRetryBackoff().toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        saveResumeToken();
+        log.info("User change stream listener stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        String collection = mongoTemplate.getCollectionName(User.class);
+        while (running) {
+            boolean gap = resumeToken == null;
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openCursor(collection)) {
+                if (gap) {
+                    // the cursor captures every write from here on; the rebuild covers the ones before it
+                    existenceFilter.rebuild();
+                }
+                while (running) {
+                    ChangeStreamDocument<Document> event = cursor.tryNext();
+                    if (event == null) {
+                        existenceFilter.streamSyncedThrough(Instant.now());
+                    } else {
+                        trackExistence(event.getOperationType(), event.getDocumentKey(), event.getFullDocument(),
+                                event.getUpdateDescription());
+                        syncedThrough(event.getClusterTime());
+                    }
+                    if (event != null && !apply(event.getOperationType(), event.getDocumentKey())) {
+                        resumeToken = null;
+                        break;
+                    }
+                    BsonDocument token = cursor.getResumeToken();
+                    if (token != null) {
+                        resumeToken = token;
+                    }
+                    maybeFlushResumeToken();
+                }
+            } catch (MongoCommandException ex) {
+                if (ex.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.warn("Change stream resume token is no longer in the oplog, restarting from now");
+                    resumeToken = null;
+                }
+                recover(ex);
+            } catch (RuntimeException ex) {
+                recover(ex);
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor(String collection) {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collection)
+                .watch()
+                .maxAwaitTime(settings.getMaxAwaitTime().toMillis(), TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    /**
+     * Applies one change event to the local cache.
+     *
+     * @return false when the event ends the stream and it must be reopened from scratch
+     */
+    boolean apply(OperationType operationType, BsonDocument documentKey) {
+        switch (operationType) {
+            case INSERT, UPDATE, REPLACE, DELETE -> {
+                String id = idOf(documentKey);
+                if (id != null) {
+                    userCache.evict(id);
+                }
+                return true;
+            }
+            case DROP, DROP_DATABASE, RENAME, INVALIDATE -> {
+                log.warn("Change stream reported {}, clearing the user cache", operationType);
+                existenceFilter.streamInterrupted();
+                userCache.clear();
+                return false;
+            }
+            default -> {
+                // other event types do not affect cached users
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Adds the id and email of a user inserted, replaced or re-addressed anywhere in the cluster to the existence
+     * filter. Inserts and replacements carry the full document; updates carry the changed fields.
+     */
+    void trackExistence(OperationType operationType, BsonDocument documentKey, Document fullDocument,
+                        UpdateDescription updateDescription) {
+        switch (operationType) {
+            case INSERT, REPLACE -> {
+                if (fullDocument != null) {
+                    existenceFilter.add(idOf(documentKey), fullDocument.getString("email"));
+                }
+            }
+            case UPDATE -> {
+                BsonDocument updated = updateDescription == null ? null : updateDescription.getUpdatedFields();
+                BsonValue email = updated == null ? null : updated.get("email");
+                if (email != null && email.isString()) {
+                    existenceFilter.add(idOf(documentKey), email.asString().getValue());
+                }
+            }
+            default -> {
+                // deletes cannot be removed from a Bloom filter; other events add no user
+            }
+        }
+    }
+
+    private void recover(RuntimeException ex) {
+        if (!running) {
+            return;
+        }
+        log.error("User change stream failed, clearing the user cache and reconnecting: {}", ex.getMessage(), ex);
+        existenceFilter.streamInterrupted();
+        userCache.clear();
+        try {
+            Thread.sleep(settings.getRetryBackoff().toMillis());
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void syncedThrough(BsonTimestamp clusterTime) {
+        if (clusterTime != null) {
+            existenceFilter.streamSyncedThrough(Instant.ofEpochSecond(clusterTime.getTime()));
+        }
+    }
+
+    private static String idOf(BsonDocument documentKey) {
+        if (documentKey == null) {
+            return null;
+        }
+        BsonValue id = documentKey.get("_id");
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        if (id.isString()) {
+            return id.asString().getValue();
+        }
+        return id.toString();
+    }
+
+    private void maybeFlushResumeToken() {
+        Duration sinceFlush = Duration.between(lastTokenFlush, Instant.now());
+        if (sinceFlush.compareTo(settings.getTokenFlushInterval()) >= 0) {
+            saveResumeToken();
+        }
+    }
+
+    private BsonDocument loadResumeToken() {
+        Document stored = mongoTemplate.findById(settings.getInstanceId(), Document.class, settings.getTokenCollection());
+        if (stored == null || stored.getString(TOKEN_FIELD) == null) {
+            return null;
+        }
+        return new BsonDocument("_data", new BsonString(stored.getString(TOKEN_FIELD)));
+    }
+
+    private void saveResumeToken() {
+        BsonDocument token = resumeToken;
+        lastTokenFlush = Instant.now();
+        if (token == null || !token.containsKey("_data")) {
+            return;
+        }
+        try {
+            mongoTemplate.upsert(
+                    Query.query(Criteria.where("_id").is(settings.getInstanceId())),
+                    new Update().set(TOKEN_FIELD, token.getString("_data").getValue()).set("updatedAt", lastTokenFlush),
+                    settings.getTokenCollection());
+        } catch (RuntimeException ex) {
+            log.warn("Could not persist change stream resume token: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.sid.app.cache;
+
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import com.sid.app.util.UserProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over every user id and email, so lookups for users that do not exist (stale links, duplicate checks)
+ * are answered without a Mongo query.
+ * <p>
+ * The filters are built in the background once the application is ready, by streaming only {@code _id} and
+ * {@code email}, and rebuilt every {@code rebuild-interval} to forget deleted users and resize for growth. Until the
+ * first build completes every lookup answers "maybe". Writes add their id and email as soon as Mongo acknowledges them,
+ * including while a rebuild is running, so a filter never misses an existing user written through this instance;
+ * users written through other replicas are added by {@link UserChangeStreamListener}. Deletes cannot be removed from a
+ * Bloom filter; a deleted user only costs a query until the next rebuild.
+ * </p>
+ * <p>
+ * While the change stream is tracked, the filter only answers "absent" when the stream has applied every write up to
+ * {@code max-stream-lag} ago, and ids minted within that window are always let through. Whenever the stream is
+ * starting, restarting or behind, every lookup goes to Mongo, so a user just written on another replica is never
+ * reported missing.
+ * </p>
+ * Published metrics, tagged {@code key=id|email}:
+ * <ul>
+ *     <li>{@value #LOOKUPS}: lookups answered by the filter ({@code result=absent}) and lookups it let through that
+ *     found nothing ({@code result=false-positive})</li>
+ *     <li>{@value #FPP_OBSERVED}: false positives / (false positives + absent answers)</li>
+ *     <li>{@value #FPP_EXPECTED}: false-positive probability predicted from the filter's bit occupancy</li>
+ *     <li>{@value #MEMORY}: size of the bit array</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class UserExistenceFilter {
+
+    public static final String LOOKUPS = "users.existence.filter.lookups";
+    public static final String FPP_OBSERVED = "users.existence.filter.fpp.observed";
+    public static final String FPP_EXPECTED = "users.existence.filter.fpp.expected";
+    public static final String MEMORY = "users.existence.filter.memory";
+
+    private final MongoTemplate mongoTemplate;
+    private final UserProperties.ExistenceFilter settings;
+    private final Counter idAbsent;
+    private final Counter idFalsePositives;
+    private final Counter emailAbsent;
+    private final Counter emailFalsePositives;
+
+    private volatile Filters current;
+    private volatile Filters building;
+    private volatile boolean streamTracked;
+    private volatile long streamSyncedThroughMillis;
+
+    private record Filters(BloomFilter ids, BloomFilter emails) {
+
+        void add(String id, String email) {
+            if (id != null) {
+                ids.put(id);
+            }
+            if (email != null) {
+                emails.put(email);
+            }
+        }
+    }
+
+    public UserExistenceFilter(MongoTemplate mongoTemplate, UserProperties userProperties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.settings = userProperties.getExistenceFilter();
+        this.idAbsent = lookups(meterRegistry, "id", "absent");
+        this.idFalsePositives = lookups(meterRegistry, "id", "false-positive");
+        this.emailAbsent = lookups(meterRegistry, "email", "absent");
+        this.emailFalsePositives = lookups(meterRegistry, "email", "false-positive");
+        register(meterRegistry, "id", Filters::ids, idAbsent, idFalsePositives);
+        register(meterRegistry, "email", Filters::emails, emailAbsent, emailFalsePositives);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String key, String result) {
+        return Counter.builder(LOOKUPS)
+                .description("User lookups answered by the existence filter, or let through and found nothing")
+                .tag("key", key)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void register(MeterRegistry meterRegistry, String key, Function<Filters, BloomFilter> filter,
+                          Counter absent, Counter falsePositives) {
+        Gauge.builder(FPP_OBSERVED, this, self -> {
+                    double positives = falsePositives.count();
+                    double total = positives + absent.count();
+                    return total == 0 ? 0 : positives / total;
+                })
+                .description("Share of lookups for missing users that the existence filter let through")
+                .tag("key", key)
+                .register(meterRegistry);
+        Gauge.builder(FPP_EXPECTED, this, self -> self.current == null ? 0 : filter.apply(self.current).expectedFpp())
+                .description("False-positive probability predicted from the existence filter's bit occupancy")
+                .tag("key", key)
+                .register(meterRegistry);
+        Gauge.builder(MEMORY, this, self -> self.current == null ? 0 : filter.apply(self.current).memoryBytes())
+                .description("Heap used by the existence filter")
+                .baseUnit(BaseUnits.BYTES)
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(this::buildAndRefresh, "user-existence-filter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void buildAndRefresh() {
+        long intervalMillis = settings.getRebuildInterval().toMillis();
+        do {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                log.error("Building the user existence filter failed: {}", ex.getMessage(), ex);
+            }
+            if (intervalMillis <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        } while (true);
+    }
+
+    /**
+     * Builds fresh filters from the collection and swaps them in. Writes made while the build runs go into both the
+     * old and the new filters.
+     */
+    public synchronized void rebuild() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        String collection = mongoTemplate.getCollectionName(User.class);
+        long expected = Math.max(settings.getExpectedUsers(), mongoTemplate.estimatedCount(collection) * 2);
+        Filters next = new Filters(
+                BloomFilter.create(expected, settings.getFalsePositiveRate()),
+                BloomFilter.create(expected, settings.getFalsePositiveRate()));
+        building = next;
+
+        Query query = new Query().cursorBatchSize(settings.getBuildBatchSize());
+        query.fields().include("email");
+        long count = 0;
+        long start = System.nanoTime();
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            Iterator<Document> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                Document document = iterator.next();
+                next.add(UserProjection.idOf(document.get("_id")), document.getString("email"));
+                count++;
+            }
+        } catch (RuntimeException ex) {
+            building = null;
+            throw ex;
+        }
+        // publish the new filters before dropping the building reference; add() reads them in the opposite order
+        current = next;
+        building = null;
+        log.info("User existence filter built from {} users in {}ms: sized for {}, {} KiB per key, {} hash functions",
+                count, (System.nanoTime() - start) / 1_000_000, expected, next.ids().memoryBytes() / 1024,
+                next.ids().hashFunctions());
+    }
+
+    /**
+     * Records that the change stream has applied every write up to {@code time}.
+     */
+    public void streamSyncedThrough(Instant time) {
+        streamSyncedThroughMillis = time.toEpochMilli();
+        streamTracked = true;
+    }
+
+    /**
+     * Records that the change stream stopped or is (re)starting: writes on other replicas may be missing from the
+     * filter, so lookups answer "maybe" until it is rebuilt and the stream reports {@link #streamSyncedThrough} again.
+     */
+    public void streamInterrupted() {
+        streamSyncedThroughMillis = 0;
+        streamTracked = true;
+    }
+
+    /**
+     * Whether lookups are being answered by the filter (enabled, built at least once and, when the change stream is
+     * tracked, in sync with it).
+     */
+    public boolean isReady() {
+        return settings.isEnabled() && current != null && inSyncWithStream();
+    }
+
+    private boolean inSyncWithStream() {
+        return !streamTracked
+                || System.currentTimeMillis() - streamSyncedThroughMillis <= settings.getMaxStreamLag().toMillis();
+    }
+
+    /**
+     * An id minted within the lag window may belong to an insert on another replica that the stream has not
+     * delivered yet.
+     */
+    private boolean recentlyMinted(String id) {
+        if (!streamTracked || !ObjectId.isValid(id)) {
+            return false;
+        }
+        // ObjectId timestamps are whole seconds; round up so the window is never cut short
+        long mintedMillis = (new ObjectId(id).getTimestamp() + 1L) * 1000L;
+        return System.currentTimeMillis() - mintedMillis <= settings.getMaxStreamLag().toMillis();
+    }
+
+    /**
+     * @return false only if no user with this id exists; true when it may exist or the filter is not ready
+     */
+    public boolean mightContainId(String id) {
+        return (id != null && recentlyMinted(id)) || mightContain(id, Filters::ids, idAbsent);
+    }
+
+    /**
+     * @return false only if no user with this email exists; true when it may exist or the filter is not ready
+     */
+    public boolean mightContainEmail(String email) {
+        return mightContain(email, Filters::emails, emailAbsent);
+    }
+
+    private boolean mightContain(String value, Function<Filters, BloomFilter> filter, Counter absent) {
+        Filters filters = current;
+        if (!settings.isEnabled() || filters == null || value == null || !inSyncWithStream()
+                || filter.apply(filters).mightContain(value)) {
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    /**
+     * Records that a lookup by id the filter let through found no user.
+     */
+    public void recordIdFalsePositive() {
+        if (isReady()) {
+            idFalsePositives.increment();
+        }
+    }
+
+    /**
+     * Records that a lookup by email the filter let through found no user.
+     */
+    public void recordEmailFalsePositive() {
+        if (isReady()) {
+            emailFalsePositives.increment();
+        }
+    }
+
+    /**
+     * Adds a user that was just written, so lookups for its id and current email are let through.
+     */
+    public void add(User user) {
+        if (user != null) {
+            add(user.getId(), user.getEmail());
+        }
+    }
+
+    public void add(String id, String email) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        // read building first: once it is null, current already holds the filters it was building
+        Filters next = building;
+        Filters filters = current;
+        if (next != null) {
+            next.add(id, email);
+        }
+        if (filters != null && filters != next) {
+            filters.add(id, email);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.sid.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Audit delivery settings, bound from {@code audit.*} in {@code application.yml} and used by
+ * {@link com.sid.app.audit.AuditPublisher}.
+ */
+@Data
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+    private final Connector connector = new Connector();
+    private final Pipeline pipeline = new Pipeline();
+
+    /**
+     * HTTP endpoint that receives batches of audit events as a JSON array.
+     */
+    @Data
+    public static class Connector {
+
+        private String url;
+        private String username;
+        private String password;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration requestTimeout = Duration.ofSeconds(5);
+    }
+
+    /**
+     * In-process queue, batching and retry policy between the user services and the connector.
+     */
+    @Data
+    public static class Pipeline {
+
+        /**
+         * Off by default; enable once {@code audit.connector.url} points at a real connector.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Events held in memory; when full, new events go straight to the spill file.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Largest batch sent in one request.
+         */
+        private int batchSize = 200;
+
+        /**
+         * Longest time an event waits for its batch to fill before the batch is sent anyway.
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * Delivery attempts per batch before it is spilled.
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * Wait before the first retry; doubled after every failed attempt up to {@link #maxBackoff}.
+         */
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+
+        /**
+         * Append-only NDJSON file for batches that could not be delivered; replayed once the connector answers again.
+         */
+        private Path spillFile = Path.of("logs", "audit-spill.ndjson");
+    }
+}
@@ -0,0 +1,131 @@
+package com.sid.app.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sid.app.constant.AppConstants;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.util.MimeType;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) bodies for callers that ask for
+ * them in {@code Accept}. The binary mappers come from the application's {@link Jackson2ObjectMapperBuilder}, so they
+ * share its modules and property conventions; JSON stays first and remains the default.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    static ObjectMapper cborMapper(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        return builders.getObject().factory(new CBORFactory()).build();
+    }
+
+    static ObjectMapper smileMapper(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        return builders.getObject().factory(new SmileFactory()).build();
+    }
+
+    /**
+     * Replaces the CBOR and Smile converters Spring MVC registers by default (they sit after JSON) with ones built
+     * from the application builder. Appending them instead would leave the defaults first in line, and those use a
+     * plain mapper without the application's modules.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public static class Servlet implements WebMvcConfigurer {
+
+        private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+        public Servlet(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+            this.builders = builders;
+        }
+
+        @Override
+        public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+            replaceOrAdd(converters, new MappingJackson2CborHttpMessageConverter(cborMapper(builders)));
+            replaceOrAdd(converters, new MappingJackson2SmileHttpMessageConverter(smileMapper(builders)));
+        }
+
+        private static void replaceOrAdd(List<HttpMessageConverter<?>> converters, HttpMessageConverter<?> converter) {
+            for (int i = 0; i < converters.size(); i++) {
+                if (converters.get(i).getClass() == converter.getClass()) {
+                    converters.set(i, converter);
+                    return;
+                }
+            }
+            converters.add(converter);
+        }
+    }
+
+    /**
+     * Registers CBOR and Smile codecs behind JSON. Their mime types are passed explicitly: without them the Jackson
+     * codecs fall back to the JSON mime types and take over JSON requests. WebFlux also consults custom codecs before
+     * its defaults, so JSON is registered as a custom codec ahead of CBOR to stay the default for
+     * {@code Accept: *}{@code /*}, and Smile takes the default Smile slot, which already follows JSON.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public static class Reactive implements WebFluxConfigurer {
+
+        private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+        public Reactive(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+            this.builders = builders;
+        }
+
+        @Override
+        public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+            ObjectMapper cbor = cborMapper(builders);
+            ObjectMapper smile = smileMapper(builders);
+            MediaType smileType = MediaType.parseMediaType(AppConstants.APPLICATION_SMILE_VALUE);
+            configurer.customCodecs().register(new Jackson2JsonEncoder(builders.getObject().build()));
+            configurer.customCodecs().register(new SingleValueCborEncoder(cbor));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cbor, MediaType.APPLICATION_CBOR));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile, smileType));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile, smileType));
+        }
+    }
+
+    /**
+     * {@link Jackson2CborEncoder} only implements {@code encodeValue}, but WebFlux writes every body through
+     * {@code encode}, including single values. Single values are mapped through {@code encodeValue}; streams of
+     * several values are still unsupported, which is fine because no streaming endpoint offers CBOR.
+     */
+    static class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        SingleValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> value) {
+                return value.map(body -> encodeValue(body, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+}
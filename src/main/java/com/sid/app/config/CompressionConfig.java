@@ -0,0 +1,32 @@
+package com.sid.app.config;
+
+import com.sid.app.web.ResponseCompressionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers {@link ResponseCompressionFilter} on the servlet stack. The reactive stack uses Netty's built-in
+ * compression ({@code server.compression} in the {@code reactive} profile).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.compression", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(CompressionProperties properties,
+                                                                                      MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ResponseCompressionFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCompressionFilter(properties, meterRegistry));
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC, DispatcherType.ERROR);
+        // inside the request observation filter, so server metrics still time the whole response
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
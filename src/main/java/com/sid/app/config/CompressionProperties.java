@@ -0,0 +1,47 @@
+package com.sid.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HTTP response compression for the servlet stack, bound from {@code app.compression.*} and applied by
+ * {@link com.sid.app.web.ResponseCompressionFilter}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Bodies smaller than this are sent as is; compressing them costs more CPU than it saves on the wire.
+     */
+    private DataSize minResponseSize = DataSize.ofKilobytes(2);
+
+    /**
+     * Content types eligible for compression.
+     */
+    private List<String> mimeTypes = new ArrayList<>(List.of(
+            "application/json", "application/x-ndjson", "application/cbor", "application/x-jackson-smile",
+            "text/plain", "text/html"));
+
+    /**
+     * Content codings offered, in order of preference ({@code zstd}, {@code gzip}). The first one the client accepts
+     * is used; {@code zstd} is skipped if its native library cannot be loaded on this platform.
+     */
+    private List<String> encodings = new ArrayList<>(List.of("zstd", "gzip"));
+
+    /**
+     * Deflate level for gzip, 1 (fastest) to 9 (smallest).
+     */
+    private int gzipLevel = 6;
+
+    /**
+     * Zstandard level, 1 (fastest) to 22 (smallest).
+     */
+    private int zstdLevel = 3;
+}
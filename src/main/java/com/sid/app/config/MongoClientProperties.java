@@ -0,0 +1,62 @@
+package com.sid.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MongoDB driver tuning, bound from {@code app.mongo.*} in {@code application.yml} and applied by {@link MongoConfig}.
+ * Values set here take precedence over the same options in {@code spring.data.mongodb.uri}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.mongo")
+public class MongoClientProperties {
+
+    private final Pool pool = new Pool();
+
+    /**
+     * Timeout for opening a TCP connection to a server.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Timeout for a single socket read; zero waits forever.
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Wire compressors offered to the server, in order of preference ({@code zstd}, {@code snappy}, {@code zlib}).
+     * The server picks the first one it also supports; an empty list disables compression.
+     */
+    private List<String> compressors = new ArrayList<>(List.of("zstd", "snappy"));
+
+    /**
+     * Connection pool sizing, per server.
+     */
+    @Data
+    public static class Pool {
+
+        /**
+         * Connections kept open even when idle.
+         */
+        private int minSize = 5;
+
+        /**
+         * Upper bound on open connections; further checkouts wait.
+         */
+        private int maxSize = 100;
+
+        /**
+         * How long a checkout waits for a free connection before failing.
+         */
+        private Duration maxWaitTime = Duration.ofSeconds(5);
+
+        /**
+         * Idle time after which a pooled connection is closed.
+         */
+        private Duration maxConnectionIdleTime = Duration.ofMinutes(1);
+    }
+}
@@ -1,9 +1,51 @@
 package com.sid.app.config;
 
+import com.mongodb.MongoCompressor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB client configuration: auditing, plus pool, timeout and compression settings from {@link MongoClientProperties}.
+ * The customizer is applied to both the blocking and the reactive client.
+ */
 @Configuration
 @EnableMongoAuditing
+@EnableReactiveMongoAuditing
 public class MongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientTuning(MongoClientProperties properties,
+                                                                  MongoPoolMetricsListener poolMetricsListener) {
+        MongoClientProperties.Pool pool = properties.getPool();
+        List<MongoCompressor> compressors = properties.getCompressors().stream()
+                .map(MongoConfig::compressor)
+                .toList();
+        return settings -> settings
+                .applyToConnectionPoolSettings(builder -> builder
+                        .minSize(pool.getMinSize())
+                        .maxSize(pool.getMaxSize())
+                        .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(poolMetricsListener))
+                .applyToSocketSettings(builder -> builder
+                        .connectTimeout(properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout(properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .compressorList(compressors);
+    }
+
+    static MongoCompressor compressor(String name) {
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "zstd" -> MongoCompressor.createZstdCompressor();
+            case "snappy" -> MongoCompressor.createSnappyCompressor();
+            case "zlib" -> MongoCompressor.createZlibCompressor();
+            default -> throw new IllegalArgumentException("Unsupported Mongo compressor '" + name + "', use zstd, snappy or zlib");
+        };
+    }
 }
@@ -0,0 +1,50 @@
+package com.sid.app.config;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each connection checkout waited, as {@code mongodb.driver.pool.checkout.wait}
+ * tagged with the server and the outcome ({@code success}, {@code timeout}, ...).
+ * <p>
+ * Pool occupancy ({@code mongodb.driver.pool.*}) and per-command latency ({@code mongodb.driver.commands})
+ * come from the listeners Spring Boot registers alongside this one.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class MongoPoolMetricsListener implements ConnectionPoolListener {
+
+    static final String CHECKOUT_WAIT = "mongodb.driver.pool.checkout.wait";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkoutTimer(event.getConnectionId().getServerId(), "success")
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkoutTimer(event.getServerId(), event.getReason().name().toLowerCase(Locale.ROOT))
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer checkoutTimer(ServerId serverId, String outcome) {
+        return Timer.builder(CHECKOUT_WAIT)
+                .description("Time spent waiting to check a connection out of the pool")
+                .tag("server.address", serverId.getAddress().toString())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.sid.app.config;
+
+import com.sid.app.entity.User;
+import com.sid.app.util.SearchNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Prepares the {@code users} collection once the application is ready, on a background thread so
+ * startup never blocks on Mongo:
+ * <ul>
+ *     <li>creates the indexes declared on {@link User} ({@code @Indexed}, {@code @CompoundIndex});</li>
+ *     <li>backfills {@code emailDomain}/{@code nameTokens} for users written before those fields existed.</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserIndexInitializer {
+
+    private final MongoTemplate mongoTemplate;
+    private final UserProperties userProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!userProperties.isEnsureIndexesOnStartup() && !userProperties.getSearch().isBackfillOnStartup()) {
+            return;
+        }
+        Thread thread = new Thread(this::initialize, "user-index-initializer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void initialize() {
+        try {
+            if (userProperties.isEnsureIndexesOnStartup()) {
+                ensureIndexes();
+            }
+            if (userProperties.getSearch().isBackfillOnStartup()) {
+                backfillSearchFields();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Preparing the users collection failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(User.class);
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        resolver.resolveIndexFor(User.class).forEach(index -> {
+            try {
+                log.info("Ensured users index {}", indexOps.createIndex(index));
+            } catch (RuntimeException ex) {
+                log.error("Could not create users index {}: {}", index.getIndexKeys(), ex.getMessage());
+            }
+        });
+    }
+
+    private void backfillSearchFields() {
+        Query missing = Query.query(Criteria.where("nameTokens").exists(false))
+                .cursorBatchSize(userProperties.getSearch().getBackfillBatchSize());
+        missing.fields().include("name").include("email");
+
+        int batchSize = userProperties.getSearch().getBackfillBatchSize();
+        int updated = 0;
+        BulkOperations ops = null;
+        int pending = 0;
+        try (Stream<User> users = mongoTemplate.stream(missing, User.class)) {
+            Iterator<User> it = users.iterator();
+            while (it.hasNext()) {
+                User user = it.next();
+                if (ops == null) {
+                    ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+                }
+                ops.updateOne(Query.query(Criteria.where("id").is(user.getId())), new Update()
+                        .set("emailDomain", SearchNormalizer.emailDomain(user.getEmail()))
+                        .set("nameTokens", SearchNormalizer.nameTokens(user.getName())));
+                if (++pending == batchSize) {
+                    ops.execute();
+                    updated += pending;
+                    ops = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (ops != null) {
+            ops.execute();
+            updated += pending;
+        }
+        if (updated > 0) {
+            log.info("Backfilled search fields for {} users", updated);
+        }
+    }
+}
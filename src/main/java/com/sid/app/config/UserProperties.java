@@ -0,0 +1,302 @@
+package com.sid.app.config;
+
+import com.mongodb.ReadPreference;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tunables for the user API, bound from {@code app.users.*} in {@code application.yml}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.users")
+public class UserProperties {
+
+    /**
+     * Whether to create the indexes declared on {@code User} in the background at startup.
+     */
+    private boolean ensureIndexesOnStartup = true;
+
+    /**
+     * Read preference for multi-document reads (list, search, filter, changes, stream/export),
+     * e.g. {@code secondaryPreferred} to move them off the primary. Single-user reads always use the primary.
+     */
+    private ReadPreference listReadPreference = ReadPreference.primary();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Streaming streaming = new Streaming();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Cache cache = new Cache();
+
+    private final ChangeStream changeStream = new ChangeStream();
+
+    private final Search search = new Search();
+
+    private final Concurrency concurrency = new Concurrency();
+
+    private final ExistenceFilter existenceFilter = new ExistenceFilter();
+
+    private final Coalescing coalescing = new Coalescing();
+
+    private final MultiGet multiGet = new MultiGet();
+
+    /**
+     * Keyset pagination limits for list endpoints.
+     */
+    @Data
+    public static class Pagination {
+
+        /**
+         * Page size used when the caller does not pass {@code limit}.
+         */
+        private int defaultLimit = 50;
+
+        /**
+         * Upper bound for {@code limit}; larger values are clamped.
+         */
+        private int maxLimit = 500;
+
+        /**
+         * Resolves the effective page size for a requested limit.
+         *
+         * @param requested limit passed by the caller, may be null
+         * @return page size between 1 and {@link #maxLimit}
+         */
+        public int resolveLimit(Integer requested) {
+            if (requested == null) {
+                return defaultLimit;
+            }
+            if (requested < 1) {
+                throw new IllegalArgumentException("limit must be greater than 0");
+            }
+            return Math.min(requested, maxLimit);
+        }
+    }
+
+    /**
+     * Cursor settings for endpoints that stream the collection.
+     */
+    @Data
+    public static class Streaming {
+
+        /**
+         * Number of documents the driver fetches per {@code getMore} round-trip.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Upper bound for a caller-supplied {@code batchSize}; larger values are clamped.
+         */
+        private int maxBatchSize = 5000;
+
+        /**
+         * Resolves the effective cursor batch size for a requested value.
+         *
+         * @param requested batch size passed by the caller, may be null
+         * @return batch size between 1 and {@link #maxBatchSize}
+         */
+        public int resolveBatchSize(Integer requested) {
+            if (requested == null) {
+                return batchSize;
+            }
+            if (requested < 1) {
+                throw new IllegalArgumentException("batchSize must be greater than 0");
+            }
+            return Math.min(requested, maxBatchSize);
+        }
+    }
+
+    /**
+     * Batching limits for {@code POST /users/_bulk}.
+     */
+    @Data
+    public static class Bulk {
+
+        /**
+         * Number of records sent to Mongo in one {@code bulkWrite}.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Maximum number of records accepted in one request.
+         */
+        private int maxItems = 100_000;
+
+        /**
+         * Default mode when the caller does not pass {@code ordered}.
+         */
+        private boolean ordered = false;
+    }
+
+    /**
+     * Read-through cache for by-id and by-email lookups.
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Whether lookups consult the in-process cache.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached users (and, separately, email mappings).
+         */
+        private long maxSize = 10_000;
+
+        /**
+         * Time after which a cached user is reloaded from Mongo.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Change-stream listener that keeps the local cache coherent across replicas.
+     */
+    @Data
+    public static class ChangeStream {
+
+        /**
+         * Whether to tail the {@code users} change stream. Requires a replica set.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Key under which this instance persists its resume token.
+         */
+        private String instanceId = "local";
+
+        /**
+         * Collection holding persisted resume tokens.
+         */
+        private String tokenCollection = "change_stream_tokens";
+
+        /**
+         * Minimum time between resume-token writes.
+         */
+        private Duration tokenFlushInterval = Duration.ofSeconds(5);
+
+        /**
+         * How long one {@code getMore} waits for new events before returning empty.
+         */
+        private Duration maxAwaitTime = Duration.ofSeconds(1);
+
+        /**
+         * Delay before reconnecting after the stream fails.
+         */
+        private Duration retryBackoff = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Index-backed search by name prefix and email domain.
+     */
+    @Data
+    public static class Search {
+
+        /**
+         * Page-size limits for {@code /users/search}; {@code max-limit} caps the result size of one call.
+         */
+        private final Pagination limits = new Pagination();
+
+        /**
+         * Whether to derive the search fields for users written before they existed, at startup.
+         */
+        private boolean backfillOnStartup = true;
+
+        /**
+         * Number of users updated per {@code bulkWrite} during the backfill.
+         */
+        private int backfillBatchSize = 500;
+    }
+
+    /**
+     * Bound on concurrent Mongo calls from request threads, so that (virtual) request threads
+     * queue here with a timeout instead of piling up in the driver's connection-pool wait queue.
+     */
+    @Data
+    public static class Concurrency {
+
+        /**
+         * Whether Mongo calls from the user services are gated by the limiter.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum Mongo calls in flight; keep at or below the driver's max pool size.
+         */
+        private int maxConcurrent = 64;
+
+        /**
+         * How long a call waits for a permit before it is rejected with 503.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+    }
+
+    /**
+     * Limits for {@code POST /users/_mget}.
+     */
+    @Data
+    public static class MultiGet {
+
+        /**
+         * Most distinct ids one request may ask for; larger requests are rejected with 400.
+         */
+        private int maxIds = 1000;
+    }
+
+    /**
+     * Single-flight for by-id and by-email lookups that miss the cache.
+     */
+    @Data
+    public static class Coalescing {
+
+        /**
+         * Whether concurrent lookups for the same id or email share one Mongo query.
+         */
+        private boolean enabled = true;
+    }
+
+    /**
+     * Bloom filters over user ids and emails that answer lookups for users that do not exist without a Mongo query.
+     */
+    @Data
+    public static class ExistenceFilter {
+
+        /**
+         * Whether by-id and by-email lookups consult the filters. Safe on a single instance; with several replicas,
+         * enable the change stream as well, so users written through other instances are added.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Minimum number of entries each filter is sized for; twice the collection's estimated count is used if larger.
+         */
+        private long expectedUsers = 1_000_000;
+
+        /**
+         * Target false-positive probability at the sized capacity.
+         */
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * How often the filters are rebuilt from the collection, forgetting deleted users and resizing for growth;
+         * zero to build only at startup.
+         */
+        private Duration rebuildInterval = Duration.ofHours(6);
+
+        /**
+         * Documents the driver fetches per round-trip while building.
+         */
+        private int buildBatchSize = 5000;
+
+        /**
+         * With the change stream enabled, how far behind it may be before lookups stop trusting the filter and go to
+         * Mongo; ids minted within this window are always looked up, since their insert may still be in flight.
+         */
+        private Duration maxStreamLag = Duration.ofSeconds(3);
+    }
+}
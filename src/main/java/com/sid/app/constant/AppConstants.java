@@ -12,6 +12,20 @@ public final class AppConstants {
     // API base paths
     public static final String BASE_API = "/api/v1/spring-boot-mongo-db-service";
     public static final String USERS_API = BASE_API + "/users";
+    public static final String USERS_STREAM_PATH = "/stream";
+    public static final String USERS_EXPORT_PATH = "/export";
+    public static final String USERS_BULK_PATH = "/_bulk";
+    public static final String USERS_MGET_PATH = "/_mget";
+    public static final String USERS_BY_EMAIL_PATH = "/by-email";
+    public static final String USERS_SEARCH_PATH = "/search";
+    public static final String USERS_FILTER_PATH = "/filter";
+    public static final String USERS_CHANGES_PATH = "/changes";
+
+    // Binary response formats, negotiated through Accept (JSON stays the default)
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    // Wire format of User timestamps
+    public static final String TIMESTAMP_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSX";
 
     // Response statuses
     public static final String STATUS_SUCCESS = "SUCCESS";
@@ -23,4 +37,5 @@ public final class AppConstants {
     public static final String MSG_USER_CREATED = "User created successfully";
     public static final String MSG_USER_UPDATED = "User updated successfully";
     public static final String MSG_USER_DELETED = "User deleted successfully";
+    public static final String MSG_USERS_BULK_PROCESSED = "Bulk request processed";
 }
@@ -0,0 +1,280 @@
+package com.sid.app.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sid.app.constant.AppConstants;
+import com.sid.app.entity.User;
+import com.sid.app.model.ApiResponse;
+import com.sid.app.model.CursorPage;
+import com.sid.app.model.UserFilterRequest;
+import com.sid.app.model.UserPatchRequest;
+import com.sid.app.model.UserTimeRangeRequest;
+import com.sid.app.service.ReactiveUserService;
+import com.sid.app.util.BodyFormat;
+import com.sid.app.util.ETags;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Non-blocking twin of {@link UserController}, served by WebFlux when the {@code reactive} profile is active.
+ * Endpoints, payloads and headers match the servlet controller; bulk writes stay on the servlet stack.
+ */
+@RestController
+@RequestMapping(AppConstants.USERS_API)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserController {
+
+    private static final byte[] ENVELOPE_TAIL = {']', '}'};
+
+    private final ReactiveUserService userService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ApiResponse<CursorPage<User>>>> all(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit) {
+        log.info("Fetching users page with cursor={} and limit={}", cursor, limit);
+        return userService.findPage(cursor, limit)
+                .map(page -> ok(AppConstants.MSG_USERS_FETCHED, page));
+    }
+
+    @GetMapping(params = "fields",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>>> allProjected(@RequestParam String fields,
+                                                                                           @RequestParam(required = false) String cursor,
+                                                                                           @RequestParam(required = false) Integer limit) {
+        log.info("Fetching users page with cursor={}, limit={} and fields={}", cursor, limit, fields);
+        return userService.findPage(cursor, limit, fields)
+                .map(page -> ok(AppConstants.MSG_USERS_FETCHED, page));
+    }
+
+    @GetMapping(value = AppConstants.USERS_SEARCH_PATH,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ApiResponse<CursorPage<User>>>> search(@RequestParam(required = false) String name,
+                                                                      @RequestParam(required = false) String domain,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(required = false) Integer limit) {
+        log.info("Searching users with name={} and domain={}", name, domain);
+        return userService.search(name, domain, cursor, limit)
+                .map(page -> ok(AppConstants.MSG_USERS_FETCHED, page));
+    }
+
+    @GetMapping(value = AppConstants.USERS_FILTER_PATH,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>>> filter(UserFilterRequest request) {
+        log.info("Filtering users with {}", request);
+        return userService.filter(request)
+                .map(page -> ok(AppConstants.MSG_USERS_FETCHED, page));
+    }
+
+    @GetMapping(value = AppConstants.USERS_CHANGES_PATH,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>>> changes(UserTimeRangeRequest request) {
+        log.info("Listing user changes with {}", request);
+        return userService.findInTimeRange(request)
+                .map(page -> ok(AppConstants.MSG_USERS_FETCHED, page));
+    }
+
+    /**
+     * Streams every user in the same envelope shape as {@link #all}. Each user is serialized and written
+     * as it arrives from the driver, and the driver is asked for more only as the connection drains.
+     */
+    @GetMapping(value = AppConstants.USERS_STREAM_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<DataBuffer> stream(ServerHttpResponse response) {
+        log.info("Streaming all users");
+        DataBufferFactory buffers = response.bufferFactory();
+        ObjectWriter userWriter = objectMapper.writerFor(User.class);
+        Flux<DataBuffer> items = userService.streamAll(null, null)
+                .index()
+                .map(indexed -> {
+                    byte[] json = toJson(userWriter, indexed.getT2());
+                    DataBuffer buffer = buffers.allocateBuffer(json.length + 1);
+                    if (indexed.getT1() > 0) {
+                        buffer.write((byte) ',');
+                    }
+                    return buffer.write(json);
+                });
+        return Flux.concat(
+                Mono.fromCallable(() -> buffers.wrap(envelopeHead())),
+                items,
+                Mono.fromSupplier(() -> buffers.wrap(ENVELOPE_TAIL)));
+    }
+
+    /**
+     * Exports users as newline-delimited JSON, one document per line, with backpressure down to the Mongo cursor.
+     * Compression is left to the server ({@code server.compression} in the {@code reactive} profile).
+     */
+    @GetMapping(value = AppConstants.USERS_EXPORT_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<User> export(@RequestParam(required = false) String after,
+                             @RequestParam(required = false) Integer batchSize) {
+        log.info("Exporting users after id={} with batchSize={}", after, batchSize);
+        return userService.streamAll(after, batchSize);
+    }
+
+    /**
+     * Returns one user with its version as a strong {@code ETag}, one per body format, or a bodiless 304 on a
+     * matching {@code If-None-Match}.
+     */
+    @GetMapping(value = "/{id}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ApiResponse<User>>> byId(@PathVariable String id,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.info("Fetching user with id={}", id);
+        BodyFormat format = BodyFormat.negotiate(accept);
+        Mono<ResponseEntity<ApiResponse<User>>> full = userService.findById(id)
+                .map(user -> fetched(user, format));
+        if (ifNoneMatch == null) {
+            return full;
+        }
+        return userService.findVersion(id)
+                .flatMap(version -> ETags.matchesAny(ifNoneMatch, version, format)
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .varyBy(HttpHeaders.ACCEPT)
+                                .eTag(ETags.of(version, format))
+                                .<ApiResponse<User>>build())
+                        : full);
+    }
+
+    @GetMapping(value = "/{id}", params = "fields",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> byIdProjected(@PathVariable String id,
+                                                                                @RequestParam String fields) {
+        log.info("Fetching user with id={} and fields={}", id, fields);
+        return userService.findById(id, fields)
+                .map(user -> ok(AppConstants.MSG_USER_FETCHED, user));
+    }
+
+    @GetMapping(value = AppConstants.USERS_BY_EMAIL_PATH,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<ApiResponse<User>>> byEmail(@RequestParam String email,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.info("Fetching user with email={}", email);
+        BodyFormat format = BodyFormat.negotiate(accept);
+        return userService.findByEmail(email)
+                .map(user -> fetched(user, format));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ApiResponse<User>>> create(@Valid @RequestBody User user) {
+        log.info("Creating new user with email={} and role={}", user.getEmail(), user.getRole());
+        return userService.create(user)
+                .map(created -> ResponseEntity.created(URI.create(AppConstants.USERS_API + "/" + created.getId()))
+                        .eTag(ETags.of(created.getVersion()))
+                        .body(ApiResponse.<User>builder()
+                                .statusCode(HttpStatus.CREATED.value())
+                                .status(AppConstants.STATUS_SUCCESS)
+                                .message(AppConstants.MSG_USER_CREATED)
+                                .data(created)
+                                .build()));
+    }
+
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ApiResponse<User>>> update(@PathVariable String id, @Valid @RequestBody User user,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Updating user with id={}", id);
+        return userService.update(id, user, ETags.expectedVersion(ifMatch))
+                .map(updated -> withETag(HttpStatus.OK, AppConstants.MSG_USER_UPDATED, updated));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ApiResponse<User>>> patch(@PathVariable String id, @Valid @RequestBody UserPatchRequest patch,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Patching user with id={}", id);
+        return userService.patch(id, patch, ETags.expectedVersion(ifMatch))
+                .map(patched -> withETag(HttpStatus.OK, AppConstants.MSG_USER_UPDATED, patched));
+    }
+
+    @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ApiResponse<Void>>> delete(@PathVariable String id,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Deleting user with id={}", id);
+        return userService.delete(id, ETags.expectedVersion(ifMatch))
+                .thenReturn(ResponseEntity.ok(
+                        ApiResponse.<Void>builder()
+                                .statusCode(HttpStatus.NO_CONTENT.value())
+                                .status(AppConstants.STATUS_SUCCESS)
+                                .message(AppConstants.MSG_USER_DELETED)
+                                .data(null)
+                                .build()));
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> ok(String message, T data) {
+        return ResponseEntity.ok(
+                ApiResponse.<T>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(message)
+                        .data(data)
+                        .build());
+    }
+
+    private static ResponseEntity<ApiResponse<User>> fetched(User user, BodyFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(ETags.of(user.getVersion(), format))
+                .body(ApiResponse.<User>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(AppConstants.MSG_USER_FETCHED)
+                        .data(user)
+                        .build());
+    }
+
+    private static ResponseEntity<ApiResponse<User>> withETag(HttpStatus status, String message, User user) {
+        return ResponseEntity.status(status)
+                .eTag(ETags.of(user.getVersion()))
+                .body(ApiResponse.<User>builder()
+                        .statusCode(status.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(message)
+                        .data(user)
+                        .build());
+    }
+
+    /**
+     * The {@code {"statusCode":..,"status":..,"message":..,"data":[} prefix of the streamed envelope.
+     */
+    private byte[] envelopeHead() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (JsonGenerator gen = objectMapper.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+            gen.writeStartObject();
+            gen.writeNumberField("statusCode", HttpStatus.OK.value());
+            gen.writeStringField("status", AppConstants.STATUS_SUCCESS);
+            gen.writeStringField("message", AppConstants.MSG_USERS_FETCHED);
+            gen.writeArrayFieldStart("data");
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] toJson(ObjectWriter writer, User user) {
+        try {
+            return writer.writeValueAsBytes(user);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -1,19 +1,44 @@
 package com.sid.app.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.sid.app.constant.AppConstants;
 import com.sid.app.model.ApiResponse;
+import com.sid.app.model.BulkResult;
+import com.sid.app.model.CursorPage;
+import com.sid.app.model.UserFilterRequest;
+import com.sid.app.model.UserMultiGetRequest;
+import com.sid.app.model.UserMultiGetResult;
+import com.sid.app.model.UserPatchRequest;
+import com.sid.app.model.UserTimeRangeRequest;
 import com.sid.app.entity.User;
+import com.sid.app.service.UserBulkService;
 import com.sid.app.service.UserService;
+import com.sid.app.util.BodyFormat;
+import com.sid.app.util.ETags;
+import com.sid.app.web.ContentCoding;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for managing {@link User} resources.
@@ -21,36 +46,263 @@ import java.util.List;
  */
 @RestController
 @RequestMapping(AppConstants.USERS_API)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Slf4j
 public class UserController {
 
+    private static final int EXPORT_BUFFER_SIZE = 8192;
+
     private final UserService userService;
+    private final UserBulkService userBulkService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<CursorPage<User>>> all(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limit) {
+        log.info("Fetching users page with cursor={} and limit={}", cursor, limit);
+        CursorPage<User> page = userService.findPage(cursor, limit);
+        return ResponseEntity.ok(
+                ApiResponse.<CursorPage<User>>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(AppConstants.MSG_USERS_FETCHED)
+                        .data(page)
+                        .build()
+        );
+    }
+
+    /**
+     * Same page as {@link #all}, but Mongo reads and the response carries only {@code fields}, e.g. {@code id,name,email}.
+     * Cursors are interchangeable between the two.
+     */
+    @GetMapping(params = "fields",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>> allProjected(@RequestParam String fields,
+                                                                                     @RequestParam(required = false) String cursor,
+                                                                                     @RequestParam(required = false) Integer limit) {
+        log.info("Fetching users page with cursor={}, limit={} and fields={}", cursor, limit, fields);
+        CursorPage<Map<String, Object>> page = userService.findPage(cursor, limit, fields);
+        return ResponseEntity.ok(
+                ApiResponse.<CursorPage<Map<String, Object>>>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(AppConstants.MSG_USERS_FETCHED)
+                        .data(page)
+                        .build()
+        );
+    }
+
+    /**
+     * Searches users by name word prefix and/or email domain, keyset-paginated like {@link #all}.
+     */
+    @GetMapping(value = AppConstants.USERS_SEARCH_PATH,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<CursorPage<User>>> search(@RequestParam(required = false) String name,
+                                                                @RequestParam(required = false) String domain,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit) {
+        log.info("Searching users with name={} and domain={}", name, domain);
+        CursorPage<User> page = userService.search(name, domain, cursor, limit);
+        return ResponseEntity.ok(
+                ApiResponse.<CursorPage<User>>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(AppConstants.MSG_USERS_FETCHED)
+                        .data(page)
+                        .build()
+        );
+    }
+
+    /**
+     * Lists users filtered by role, status and creation time for admin dashboards.
+     * Pass {@code fields=id,name,email} to read and return only those fields.
+     */
+    @GetMapping(value = AppConstants.USERS_FILTER_PATH,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>> filter(UserFilterRequest request) {
+        log.info("Filtering users with {}", request);
+        CursorPage<Map<String, Object>> page = userService.filter(request);
+        return ResponseEntity.ok(
+                ApiResponse.<CursorPage<Map<String, Object>>>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(AppConstants.MSG_USERS_FETCHED)
+                        .data(page)
+                        .build()
+        );
+    }
 
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<List<User>>> all() {
-        log.info("Fetching all users");
-        List<User> users = userService.findAll();
+    /**
+     * Lists users created or modified in {@code [since, until)}, oldest first.
+     * Sync jobs poll this with {@code since} set to their last checkpoint and follow {@code nextCursor}.
+     */
+    @GetMapping(value = AppConstants.USERS_CHANGES_PATH,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>> changes(UserTimeRangeRequest request) {
+        log.info("Listing user changes with {}", request);
+        CursorPage<Map<String, Object>> page = userService.findInTimeRange(request);
         return ResponseEntity.ok(
-                ApiResponse.<List<User>>builder()
+                ApiResponse.<CursorPage<Map<String, Object>>>builder()
                         .statusCode(HttpStatus.OK.value())
                         .status(AppConstants.STATUS_SUCCESS)
                         .message(AppConstants.MSG_USERS_FETCHED)
-                        .data(users)
+                        .data(page)
                         .build()
         );
     }
 
-    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<User>> byId(@PathVariable String id) {
+    /**
+     * Streams every user in the same envelope shape as {@link #all}, writing each document
+     * to the response as it comes off the Mongo cursor so heap use does not grow with the collection.
+     */
+    @GetMapping(value = AppConstants.USERS_STREAM_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        log.info("Streaming all users");
+        ObjectWriter userWriter = objectMapper.writerFor(User.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (Stream<User> users = userService.streamAll(null, null);
+                 JsonGenerator gen = objectMapper.createGenerator(out)) {
+                gen.writeStartObject();
+                gen.writeNumberField("statusCode", HttpStatus.OK.value());
+                gen.writeStringField("status", AppConstants.STATUS_SUCCESS);
+                gen.writeStringField("message", AppConstants.MSG_USERS_FETCHED);
+                gen.writeArrayFieldStart("data");
+                Iterator<User> it = users.iterator();
+                while (it.hasNext()) {
+                    userWriter.writeValue(gen, it.next());
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Exports users as newline-delimited JSON, one document per line, straight from the driver cursor.
+     * Clients resume an interrupted export by passing the {@code id} of the last line they received as {@code after}.
+     * The body is gzip-encoded when the client's {@code Accept-Encoding} accepts gzip with a non-zero quality.
+     */
+    @GetMapping(value = AppConstants.USERS_EXPORT_PATH, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String after,
+                                                        @RequestParam(required = false) Integer batchSize,
+                                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = ContentCoding.GZIP.isAcceptedBy(acceptEncoding);
+        log.info("Exporting users after id={} with batchSize={} gzip={}", after, batchSize, gzip);
+        ObjectWriter userWriter = objectMapper.writerFor(User.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE) : out;
+            try (Stream<User> users = userService.streamAll(after, batchSize);
+                 JsonGenerator gen = objectMapper.createGenerator(target)) {
+                gen.setRootValueSeparator(null);
+                Iterator<User> it = users.iterator();
+                while (it.hasNext()) {
+                    userWriter.writeValue(gen, it.next());
+                    gen.writeRaw('\n');
+                }
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, ContentCoding.GZIP.token());
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Returns one user with its version as a strong {@code ETag}, one per body format. When the client sends a
+     * matching {@code If-None-Match}, only the version is read from Mongo and a bodiless 304 is returned.
+     */
+    @GetMapping(value = "/{id}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<User>> byId(@PathVariable String id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("Fetching user with id={}", id);
+        BodyFormat format = BodyFormat.negotiate(accept);
+        if (ifNoneMatch != null) {
+            Long version = userService.findVersion(id);
+            if (ETags.matchesAny(ifNoneMatch, version, format)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .eTag(ETags.of(version, format))
+                        .build();
+            }
+        }
         User user = userService.findById(id);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(ETags.of(user.getVersion(), format))
+                .body(ApiResponse.<User>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(AppConstants.MSG_USER_FETCHED)
+                        .data(user)
+                        .build());
+    }
+
+    /**
+     * Returns only the requested {@code fields} of one user. A partial body is a different representation
+     * from the full user, so it carries no version {@code ETag}.
+     */
+    @GetMapping(value = "/{id}", params = "fields",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<Map<String, Object>>> byIdProjected(@PathVariable String id,
+                                                                          @RequestParam String fields) {
+        log.info("Fetching user with id={} and fields={}", id, fields);
+        Map<String, Object> user = userService.findById(id, fields);
         return ResponseEntity.ok(
-                ApiResponse.<User>builder()
+                ApiResponse.<Map<String, Object>>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(AppConstants.MSG_USER_FETCHED)
+                        .data(user)
+                        .build()
+        );
+    }
+
+    @GetMapping(value = AppConstants.USERS_BY_EMAIL_PATH,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<User>> byEmail(@RequestParam String email,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.info("Fetching user with email={}", email);
+        BodyFormat format = BodyFormat.negotiate(accept);
+        User user = userService.findByEmail(email);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(ETags.of(user.getVersion(), format))
+                .body(ApiResponse.<User>builder()
                         .statusCode(HttpStatus.OK.value())
                         .status(AppConstants.STATUS_SUCCESS)
                         .message(AppConstants.MSG_USER_FETCHED)
                         .data(user)
+                        .build());
+    }
+
+    /**
+     * Returns the users with the given ids, in request order, with one Mongo query instead of one per id.
+     * Ids with no user are listed under {@code missing} rather than failing the request.
+     */
+    @PostMapping(value = AppConstants.USERS_MGET_PATH, consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, AppConstants.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ApiResponse<UserMultiGetResult>> multiGet(@Valid @RequestBody UserMultiGetRequest request) {
+        log.info("Fetching {} users by id", request.getIds().size());
+        UserMultiGetResult result = userService.findByIds(request.getIds());
+        return ResponseEntity.ok(
+                ApiResponse.<UserMultiGetResult>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(AppConstants.MSG_USERS_FETCHED)
+                        .data(result)
                         .build()
         );
     }
@@ -60,6 +312,7 @@ public class UserController {
         log.info("Creating new user with email={} and role={}", user.getEmail(), user.getRole());
         User created = userService.create(user);
         return ResponseEntity.created(URI.create(AppConstants.USERS_API + "/" + created.getId()))
+                .eTag(ETags.of(created.getVersion()))
                 .body(ApiResponse.<User>builder()
                         .statusCode(HttpStatus.CREATED.value())
                         .status(AppConstants.STATUS_SUCCESS)
@@ -68,24 +321,65 @@ public class UserController {
                         .build());
     }
 
+    /**
+     * Creates or upserts many users in one request. The body is either a JSON array or NDJSON;
+     * records are read and written in batches so the whole body is never held in memory.
+     */
+    @PostMapping(value = AppConstants.USERS_BULK_PATH,
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkResult>> bulk(@RequestParam(required = false) Boolean ordered,
+                                                        InputStream body) throws IOException {
+        log.info("Processing bulk user request with ordered={}", ordered);
+        BulkResult result;
+        try (MappingIterator<User> users = objectMapper.readerFor(User.class).readValues(body)) {
+            result = userBulkService.bulkUpsert(users, ordered);
+        }
+        return ResponseEntity.ok(
+                ApiResponse.<BulkResult>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(AppConstants.MSG_USERS_BULK_PROCESSED)
+                        .data(result)
+                        .build()
+        );
+    }
+
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<User>> update(@PathVariable String id, @Valid @RequestBody User user) {
+    public ResponseEntity<ApiResponse<User>> update(@PathVariable String id, @Valid @RequestBody User user,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating user with id={}", id);
-        User updated = userService.update(id, user);
-        return ResponseEntity.ok(
-                ApiResponse.<User>builder()
+        User updated = userService.update(id, user, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(updated.getVersion()))
+                .body(ApiResponse.<User>builder()
                         .statusCode(HttpStatus.OK.value())
                         .status(AppConstants.STATUS_SUCCESS)
                         .message(AppConstants.MSG_USER_UPDATED)
                         .data(updated)
-                        .build()
-        );
+                        .build());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<User>> patch(@PathVariable String id, @Valid @RequestBody UserPatchRequest patch,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("Patching user with id={}", id);
+        User patched = userService.patch(id, patch, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(patched.getVersion()))
+                .body(ApiResponse.<User>builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .status(AppConstants.STATUS_SUCCESS)
+                        .message(AppConstants.MSG_USER_UPDATED)
+                        .data(patched)
+                        .build());
     }
 
     @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponse<Void>> delete(@PathVariable String id) {
+    public ResponseEntity<ApiResponse<Void>> delete(@PathVariable String id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Deleting user with id={}", id);
-        userService.delete(id);
+        userService.delete(id, ETags.expectedVersion(ifMatch));
         return ResponseEntity.ok(
                 ApiResponse.<Void>builder()
                         .statusCode(HttpStatus.NO_CONTENT.value())
@@ -1,6 +1,9 @@
 package com.sid.app.entity;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sid.app.util.UtcInstantSerializer;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -9,10 +12,14 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Represents a User entity stored in MongoDB.
@@ -25,6 +32,15 @@ import java.time.Instant;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "users")
+@CompoundIndexes({
+        @CompoundIndex(name = "emailDomain_id", def = "{'emailDomain': 1, '_id': 1}"),
+        @CompoundIndex(name = "nameTokens_id", def = "{'nameTokens': 1, '_id': 1}"),
+        @CompoundIndex(name = "role_status_createdAt_id", def = "{'role': 1, 'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "role_createdAt_id", def = "{'role': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "updatedAt_id", def = "{'updatedAt': 1, '_id': 1}")
+})
 public class User {
 
     /**
@@ -72,9 +88,10 @@ public class User {
     private String address;
 
     /**
-     * Timestamp when the user was created.
+     * Timestamp when the user was created. Written by {@link UtcInstantSerializer}; the pattern applies when reading.
      */
     @CreatedDate
+    @JsonSerialize(using = UtcInstantSerializer.class)
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX", timezone = "UTC")
     @Builder.Default
     private Instant createdAt = Instant.now();
@@ -83,6 +100,25 @@ public class User {
      * Timestamp when the user was last updated.
      */
     @LastModifiedDate
+    @JsonSerialize(using = UtcInstantSerializer.class)
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX", timezone = "UTC")
     private Instant updatedAt;
+
+    /**
+     * Lowercase email domain, derived from {@link #email} on every write for index-backed domain search.
+     */
+    @JsonIgnore
+    private String emailDomain;
+
+    /**
+     * Lowercase words of {@link #name}, derived on every write for index-backed word-prefix search.
+     */
+    @JsonIgnore
+    private List<String> nameTokens;
+
+    /**
+     * Optimistic-locking version, incremented on every write and exposed as the ETag.
+     */
+    @Version
+    private Long version;
 }
@@ -1,9 +1,14 @@
 package com.sid.app.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -11,26 +16,68 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Maps exceptions from the servlet controllers to {@link ApiError} responses.
+ * <p>
+ * 404s and 400s are expected client errors: they are logged without a stack trace and at most
+ * {@value #CLIENT_ERROR_LOG_LINES_PER_SECOND} lines per second each, with a count of the lines skipped.
+ * Every 404 is counted in {@value #NOT_FOUND}, tagged by method and endpoint pattern.
+ * </p>
+ */
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
+    public static final String NOT_FOUND = "http.server.not.found";
+    static final int CLIENT_ERROR_LOG_LINES_PER_SECOND = 10;
+
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+    private final LogThrottle notFoundLog = new LogThrottle(CLIENT_ERROR_LOG_LINES_PER_SECOND, Duration.ofSeconds(1));
+    private final LogThrottle badRequestLog = new LogThrottle(CLIENT_ERROR_LOG_LINES_PER_SECOND, Duration.ofSeconds(1));
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiError> handleNotFound(ResourceNotFoundException ex, ServletWebRequest req) {
-        log.error("Resource not found: {}", ex.getMessage(), ex);
+        HttpServletRequest request = req.getRequest();
+        countNotFound(meterRegistry, request.getMethod(), request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        long skipped = notFoundLog.acquire();
+        if (skipped >= 0) {
+            log.warn("Resource not found: {}{}", ex.getMessage(), LogThrottle.suppressedNote(skipped));
+        }
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(ApiError.of(HttpStatus.NOT_FOUND, ex.getMessage(), req.getRequest().getRequestURI()));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(PreconditionFailedException ex, ServletWebRequest req) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(ApiError.of(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), req.getRequest().getRequestURI()));
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiError> handleServiceBusy(ServiceBusyException ex, ServletWebRequest req) {
+        log.warn("Service busy: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiError.of(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), req.getRequest().getRequestURI()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, ServletWebRequest req) {
-        log.warn("Validation failed: {}", ex.getMessage());
+        logBadRequest("Validation failed", ex, false);
 
         Map<String, String> errors = new HashMap<>();
         for (FieldError fieldError : ex.getBindingResult().getFieldErrors()) {
@@ -47,7 +94,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ApiError> handleConstraintViolation(ConstraintViolationException ex, ServletWebRequest req) {
-        log.warn("Constraint violation: {}", ex.getMessage());
+        logBadRequest("Constraint violation", ex, false);
 
         String errorMessage = ex.getConstraintViolations().stream()
                 .map(ConstraintViolation::getMessage)
@@ -59,7 +106,8 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiError> handleIllegalArgument(IllegalArgumentException ex, ServletWebRequest req) {
-        log.warn("Illegal argument: {}", ex.getMessage(), ex);
+        // our own InvalidRequestException has no stack; any other IllegalArgumentException may be a bug
+        logBadRequest("Illegal argument", ex, !(ex instanceof InvalidRequestException));
         return ResponseEntity.badRequest()
                 .body(ApiError.of(HttpStatus.BAD_REQUEST, ex.getMessage(), req.getRequest().getRequestURI()));
     }
@@ -70,4 +118,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiError.of(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred", req.getRequest().getRequestURI()));
     }
+
+    private void logBadRequest(String summary, Exception ex, boolean withStackTrace) {
+        long skipped = badRequestLog.acquire();
+        if (skipped < 0) {
+            return;
+        }
+        if (withStackTrace) {
+            log.warn("{}: {}{}", summary, ex.getMessage(), LogThrottle.suppressedNote(skipped), ex);
+        } else {
+            log.warn("{}: {}{}", summary, ex.getMessage(), LogThrottle.suppressedNote(skipped));
+        }
+    }
+
+    /**
+     * Counts one 404 under {@value #NOT_FOUND}. The endpoint is the matched route pattern (e.g. {@code /users/{id}}),
+     * never the raw path, so the tag stays low-cardinality.
+     */
+    static void countNotFound(MeterRegistry meterRegistry, String method, Object pattern) {
+        Counter.builder(NOT_FOUND)
+                .description("Requests answered with 404 Not Found")
+                .tag("method", method)
+                .tag("endpoint", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .increment();
+    }
 }
@@ -0,0 +1,29 @@
+package com.sid.app.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A request parameter or body the client got wrong (unknown field, malformed cursor, empty patch, ...).
+ * Extends {@link IllegalArgumentException} so existing handlers still map it to 400.
+ * <p>
+ * Carries no stack trace: it describes bad input rather than a bug, and is cheap enough to throw on every bad request.
+ * Instances are not shared, because an {@link IllegalArgumentException} cannot turn off suppressed exceptions.
+ * </p>
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        this(message, null);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
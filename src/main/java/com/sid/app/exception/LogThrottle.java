@@ -0,0 +1,48 @@
+package com.sid.app.exception;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most {@code limit} log lines of one kind through per {@code window} and counts the ones it holds back,
+ * so a client hammering a missing id or sending the same bad request cannot flood the log.
+ * The window is approximate under contention; it only has to keep the volume bounded.
+ */
+final class LogThrottle {
+
+    private final int limit;
+    private final long windowNanos;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    LogThrottle(int limit, Duration window) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * @return -1 if this line must be skipped, otherwise the number of lines skipped since the last one let through
+     */
+    long acquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= limit) {
+            return suppressed.sumThenReset();
+        }
+        suppressed.increment();
+        return -1;
+    }
+
+    /**
+     * Suffix for a log line that reports how many similar lines were skipped before it.
+     */
+    static String suppressedNote(long skipped) {
+        return skipped > 0 ? " (" + skipped + " similar suppressed)" : "";
+    }
+}
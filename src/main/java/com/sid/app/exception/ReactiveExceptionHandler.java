@@ -0,0 +1,120 @@
+package com.sid.app.exception;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux counterpart of {@link GlobalExceptionHandler}, producing the same {@link ApiError} bodies, log throttling
+ * and {@value GlobalExceptionHandler#NOT_FOUND} metric when the app runs as a reactive web application.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    private final MeterRegistry meterRegistry;
+    private final LogThrottle notFoundLog =
+            new LogThrottle(GlobalExceptionHandler.CLIENT_ERROR_LOG_LINES_PER_SECOND, Duration.ofSeconds(1));
+    private final LogThrottle badRequestLog =
+            new LogThrottle(GlobalExceptionHandler.CLIENT_ERROR_LOG_LINES_PER_SECOND, Duration.ofSeconds(1));
+
+    public ReactiveExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiError> handleNotFound(ResourceNotFoundException ex, ServerWebExchange exchange) {
+        GlobalExceptionHandler.countNotFound(meterRegistry, exchange.getRequest().getMethod().name(),
+                exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        long skipped = notFoundLog.acquire();
+        if (skipped >= 0) {
+            log.warn("Resource not found: {}{}", ex.getMessage(), LogThrottle.suppressedNote(skipped));
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiError.of(HttpStatus.NOT_FOUND, ex.getMessage(), path(exchange)));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(PreconditionFailedException ex, ServerWebExchange exchange) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(ApiError.of(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), path(exchange)));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiError> handleBind(WebExchangeBindException ex, ServerWebExchange exchange) {
+        logBadRequest("Validation failed", ex, false);
+
+        String errorMessage = ex.getFieldErrors().stream()
+                .map(fieldError -> fieldError.getField() + ": " + fieldError.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+
+        return ResponseEntity.badRequest()
+                .body(ApiError.of(HttpStatus.BAD_REQUEST, errorMessage, path(exchange)));
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ApiError> handleInput(ServerWebInputException ex, ServerWebExchange exchange) {
+        logBadRequest("Invalid request", ex, false);
+        return ResponseEntity.badRequest()
+                .body(ApiError.of(HttpStatus.BAD_REQUEST, ex.getReason(), path(exchange)));
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ApiError> handleConstraintViolation(ConstraintViolationException ex, ServerWebExchange exchange) {
+        logBadRequest("Constraint violation", ex, false);
+
+        String errorMessage = ex.getConstraintViolations().stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining(", "));
+
+        return ResponseEntity.badRequest()
+                .body(ApiError.of(HttpStatus.BAD_REQUEST, errorMessage, path(exchange)));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiError> handleIllegalArgument(IllegalArgumentException ex, ServerWebExchange exchange) {
+        logBadRequest("Illegal argument", ex, !(ex instanceof InvalidRequestException));
+        return ResponseEntity.badRequest()
+                .body(ApiError.of(HttpStatus.BAD_REQUEST, ex.getMessage(), path(exchange)));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiError> handleGeneric(Exception ex, ServerWebExchange exchange) {
+        log.error("Unexpected error: {}", ex.getMessage(), ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiError.of(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred", path(exchange)));
+    }
+
+    private void logBadRequest(String summary, Exception ex, boolean withStackTrace) {
+        long skipped = badRequestLog.acquire();
+        if (skipped < 0) {
+            return;
+        }
+        if (withStackTrace) {
+            log.warn("{}: {}{}", summary, ex.getMessage(), LogThrottle.suppressedNote(skipped), ex);
+        } else {
+            log.warn("{}: {}{}", summary, ex.getMessage(), LogThrottle.suppressedNote(skipped));
+        }
+    }
+
+    private static String path(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().value();
+    }
+}
@@ -3,9 +3,13 @@ package com.sid.app.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * The requested resource does not exist. Carries no stack trace or suppressed exceptions: a 404 is an expected
+ * outcome, and a client probing missing ids should not cost a stack walk per request.
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
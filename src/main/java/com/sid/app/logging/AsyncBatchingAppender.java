@@ -0,0 +1,236 @@
+package com.sid.app.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Logback's {@link AsyncAppender} with flushes batched: the attached stream appenders stop flushing after every event,
+ * and the worker flushes them once per {@code batchSize} events or whenever it has caught up with the queue.
+ * <p>
+ * Queueing, discarding and shutdown are the base class's ({@code queueSize}, {@code discardingThreshold},
+ * {@code maxFlushTime}). On top of it, any number of appenders can be attached, {@code overflowPolicy} maps
+ * {@code drop}/{@code block} to {@code neverBlock}, dropped events are counted per reason, and {@code async=false}
+ * passes events through synchronously, as with a plain appender.
+ * </p>
+ * Configured in {@code logback-spring.xml}; metrics are published by {@link AsyncLoggingMetrics}.
+ */
+public class AsyncBatchingAppender extends AsyncAppender {
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final BatchWriter writer = new BatchWriter();
+    private final LongAdder droppedFull = new LongAdder();
+    private final LongAdder droppedThreshold = new LongAdder();
+
+    private boolean async = true;
+    private int batchSize = 256;
+
+    public AsyncBatchingAppender() {
+        setNeverBlock(true);
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to " + getName());
+            return;
+        }
+        if (batchSize < 1) {
+            addError("batchSize must be positive for " + getName());
+            return;
+        }
+        if (getContext() instanceof LoggerContext loggerContext && loggerContext.getMDCAdapter() == null) {
+            // events copy the MDC when queued and fail without an adapter; contexts created outside SLF4J have none
+            loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        }
+        if (!async) {
+            started = true;
+            return;
+        }
+        forEachStreamAppender(appender -> appender.setImmediateFlush(false));
+        writer.setContext(getContext());
+        writer.setName(getName() + "-writer");
+        writer.start();
+        // the base class takes a single appender; the writer fans out to the attached ones
+        super.addAppender(writer);
+        super.start();
+    }
+
+    /**
+     * Writes what is already queued (for at most {@code maxFlushTime}), then stops the attached appenders.
+     */
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        if (async) {
+            super.stop();
+        } else {
+            started = false;
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!async) {
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(event)) {
+            return;
+        }
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            // the base class would drop it without telling
+            droppedFull.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            droppedThreshold.increment();
+        }
+        return discardable;
+    }
+
+    private void forEachStreamAppender(Consumer<OutputStreamAppender<ILoggingEvent>> action) {
+        Iterator<Appender<ILoggingEvent>> it = appenders.iteratorForAppenders();
+        while (it.hasNext()) {
+            if (it.next() instanceof OutputStreamAppender<ILoggingEvent> stream) {
+                action.accept(stream);
+            }
+        }
+    }
+
+    /**
+     * Runs on the base class's worker thread: writes each event to the attached appenders and flushes their streams
+     * after {@code batchSize} events, or as soon as no more events are waiting.
+     */
+    private final class BatchWriter extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        private int unflushed;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            appenders.appendLoopOnAppenders(event);
+            if (++unflushed >= batchSize || getNumberOfElementsInQueue() == 0) {
+                unflushed = 0;
+                forEachStreamAppender(this::flush);
+            }
+        }
+
+        private void flush(OutputStreamAppender<ILoggingEvent> appender) {
+            OutputStream out = appender.getOutputStream();
+            if (out != null) {
+                try {
+                    out.flush();
+                } catch (IOException ex) {
+                    addWarn("Could not flush " + appender.getName(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Events waiting to be written; always 0 in synchronous mode.
+     */
+    public int getQueuedCount() {
+        return async && isStarted() ? getNumberOfElementsInQueue() : 0;
+    }
+
+    /**
+     * Events dropped because the queue was full, with {@code overflowPolicy=drop}.
+     */
+    public long getDroppedFullCount() {
+        return droppedFull.sum();
+    }
+
+    /**
+     * DEBUG/TRACE/INFO events dropped to keep room for warnings and errors.
+     */
+    public long getDroppedThresholdCount() {
+        return droppedThreshold.sum();
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * {@code drop} never blocks the caller when the queue is full; {@code block} waits for a free slot.
+     */
+    public void setOverflowPolicy(String overflowPolicy) {
+        switch (overflowPolicy.trim().toLowerCase(Locale.ROOT)) {
+            case "drop" -> setNeverBlock(true);
+            case "block" -> setNeverBlock(false);
+            default -> throw new IllegalArgumentException("Unknown overflowPolicy '" + overflowPolicy + "', use drop or block");
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
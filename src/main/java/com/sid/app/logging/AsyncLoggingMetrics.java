@@ -0,0 +1,75 @@
+package com.sid.app.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Publishes the state of the {@link AsyncBatchingAppender}s and {@link InfoSamplingTurboFilter}s configured in
+ * {@code logback-spring.xml}:
+ * <ul>
+ *     <li>{@value #QUEUED}: events waiting to be written, per appender</li>
+ *     <li>{@value #DROPPED}: events dropped, per appender and reason ({@code full}, {@code threshold})</li>
+ *     <li>{@value #SAMPLED}: INFO lines skipped by sampling</li>
+ * </ul>
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    public static final String QUEUED = "logback.async.queued";
+    public static final String DROPPED = "logback.async.dropped";
+    public static final String SAMPLED = "logback.sampled";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Set<AsyncBatchingAppender> bound = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof AsyncBatchingAppender appender && bound.add(appender)) {
+                    bind(appender, registry);
+                }
+            }
+        }
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof InfoSamplingTurboFilter sampling) {
+                FunctionCounter.builder(SAMPLED, sampling, InfoSamplingTurboFilter::getSampledOutCount)
+                        .description("INFO log lines skipped by sampling")
+                        .register(registry);
+            }
+        }
+    }
+
+    private static void bind(AsyncBatchingAppender appender, MeterRegistry registry) {
+        Gauge.builder(QUEUED, appender, AsyncBatchingAppender::getQueuedCount)
+                .description("Log events waiting to be written")
+                .tag("appender", appender.getName())
+                .register(registry);
+        FunctionCounter.builder(DROPPED, appender, AsyncBatchingAppender::getDroppedFullCount)
+                .description("Log events dropped by the async appender")
+                .tag("appender", appender.getName())
+                .tag("reason", "full")
+                .register(registry);
+        FunctionCounter.builder(DROPPED, appender, AsyncBatchingAppender::getDroppedThresholdCount)
+                .description("Log events dropped by the async appender")
+                .tag("appender", appender.getName())
+                .tag("reason", "threshold")
+                .register(registry);
+    }
+}
@@ -0,0 +1,75 @@
+package com.sid.app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps roughly one in {@code rate} INFO lines from the given loggers and denies the rest before a log event is even
+ * created. Meant for the per-request lines of the controllers and services ("Fetching user with id=...");
+ * WARN/ERROR, INFO lines carrying an exception and all other loggers are never sampled.
+ * <p>
+ * The choice is random per call rather than a shared counter, so sampling adds no contention.
+ * With {@code rate} 1 (the default) every line is kept.
+ * </p>
+ */
+public class InfoSamplingTurboFilter extends TurboFilter {
+
+    private final LongAdder sampledOut = new LongAdder();
+    private int rate = 1;
+    private List<String> loggers = List.of();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isInfoEnabled() checks, which must not be sampled or counted
+        if (rate <= 1 || format == null || t != null || !Level.INFO.equals(level) || !sampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (ThreadLocalRandom.current().nextInt(rate) == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.increment();
+        return FilterReply.DENY;
+    }
+
+    private boolean sampled(String name) {
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix) && (name.length() == prefix.length() || name.charAt(prefix.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * INFO lines dropped by sampling so far.
+     */
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * Comma-separated logger names; each also covers its child loggers.
+     */
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,49 @@
+package com.sid.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single record in a bulk request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    /**
+     * Zero-based position of the record in the request body.
+     */
+    private int index;
+
+    /**
+     * Id the record was written under (generated when the record had none).
+     */
+    private String id;
+
+    /**
+     * Outcome of the record.
+     */
+    private Status status;
+
+    /**
+     * Validation or write error; null on success.
+     */
+    private String error;
+
+    /**
+     * Possible outcomes of a bulk record.
+     */
+    public enum Status {
+        CREATED,
+        UPSERTED,
+        INVALID,
+        DUPLICATE_KEY,
+        FAILED,
+        SKIPPED,
+        MALFORMED
+    }
+}
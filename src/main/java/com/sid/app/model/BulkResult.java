@@ -0,0 +1,53 @@
+package com.sid.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Summary and per-item outcomes of a bulk create/upsert request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResult {
+
+    /**
+     * Whether the request ran in ordered mode (stop at the first failure).
+     */
+    private boolean ordered;
+
+    /**
+     * Number of records read from the request body.
+     */
+    private int received;
+
+    /**
+     * Number of records written.
+     */
+    private int succeeded;
+
+    /**
+     * Number of records rejected, failed or skipped.
+     */
+    private int failed;
+
+    /**
+     * Whether processing stopped before the end of the body.
+     */
+    private boolean aborted;
+
+    /**
+     * Why processing stopped early; null when the whole body was processed.
+     */
+    private String abortReason;
+
+    /**
+     * Per-record outcomes, in request order.
+     */
+    private List<BulkItemResult> items;
+}
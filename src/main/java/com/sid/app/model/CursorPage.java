@@ -0,0 +1,57 @@
+package com.sid.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param <T> the type of the page items
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * Items on this page, in sort order.
+     */
+    private List<T> items;
+
+    /**
+     * Number of items on this page.
+     */
+    private int size;
+
+    /**
+     * Cursor to pass back for the next page; null when this is the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} documents.
+     * The extra document only signals that another page exists and is dropped.
+     *
+     * @param fetched  documents returned by the query (at most {@code limit + 1})
+     * @param limit    requested page size
+     * @param cursorOf derives the cursor from the last item on the page
+     * @param <T>      item type
+     * @return the page
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, String> cursorOf) {
+        boolean hasMore = fetched.size() > limit;
+        List<T> items = hasMore ? fetched.subList(0, limit) : fetched;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return CursorPage.<T>builder()
+                .items(items)
+                .size(items.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
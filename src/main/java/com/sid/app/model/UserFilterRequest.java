@@ -0,0 +1,58 @@
+package com.sid.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Query parameters of the filtered user listing ({@code GET /users/filter}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserFilterRequest {
+
+    /**
+     * Exact role to match (e.g., ADMIN).
+     */
+    private String role;
+
+    /**
+     * Exact status to match (e.g., ACTIVE).
+     */
+    private String status;
+
+    /**
+     * Only users created at or after this instant.
+     */
+    private Instant createdAfter;
+
+    /**
+     * Only users created before this instant.
+     */
+    private Instant createdBefore;
+
+    /**
+     * Sort on {@code createdAt}: {@code createdAt,desc} (default) or {@code createdAt,asc}.
+     */
+    private String sort;
+
+    /**
+     * Comma-separated fields to return; all fields when absent.
+     */
+    private String fields;
+
+    /**
+     * Cursor returned as {@code nextCursor} by the previous page.
+     */
+    private String cursor;
+
+    /**
+     * Page size.
+     */
+    private Integer limit;
+}
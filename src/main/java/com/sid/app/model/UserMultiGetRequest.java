@@ -0,0 +1,22 @@
+package com.sid.app.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ids to fetch in one multi-get call; at most {@code app.users.multi-get.max-ids} of them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserMultiGetRequest {
+
+    @NotEmpty(message = "ids must not be empty")
+    private List<String> ids;
+}
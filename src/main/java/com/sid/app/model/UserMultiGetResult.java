@@ -0,0 +1,29 @@
+package com.sid.app.model;
+
+import com.sid.app.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Users found by a multi-get call, and the requested ids that matched no user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserMultiGetResult {
+
+    /**
+     * Users found, in the order their ids were first requested.
+     */
+    private List<User> users;
+
+    /**
+     * Requested ids with no user, in request order.
+     */
+    private List<String> missing;
+}
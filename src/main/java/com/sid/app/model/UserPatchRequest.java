@@ -0,0 +1,38 @@
+package com.sid.app.model;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partial update of a user. Only non-null fields are written; the constraints mirror
+ * those on {@link com.sid.app.entity.User} for the fields that are supplied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPatchRequest {
+
+    @Size(min = 2, max = 100, message = "Name must be between 2 and 100 characters")
+    private String name;
+
+    @Email(message = "Email must be valid")
+    @Pattern(regexp = ".*\\S.*", message = "Email must not be blank")
+    private String email;
+
+    @Pattern(regexp = "^\\+?[0-9. ()-]{7,25}$", message = "Phone number is invalid")
+    private String phone;
+
+    @Pattern(regexp = ".*\\S.*", message = "Role must not be blank")
+    private String role;
+
+    @Pattern(regexp = ".*\\S.*", message = "Status must not be blank")
+    private String status;
+
+    private String address;
+}
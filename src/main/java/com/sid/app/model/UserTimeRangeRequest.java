@@ -0,0 +1,48 @@
+package com.sid.app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Query parameters of the time-range user feed ({@code GET /users/changes}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTimeRangeRequest {
+
+    /**
+     * Timestamp to range over: {@code updatedAt} (default) or {@code createdAt}.
+     */
+    private String field;
+
+    /**
+     * Inclusive lower bound.
+     */
+    private Instant since;
+
+    /**
+     * Exclusive upper bound.
+     */
+    private Instant until;
+
+    /**
+     * Comma-separated fields to return; all fields when absent.
+     */
+    private String fields;
+
+    /**
+     * Cursor returned as {@code nextCursor} by the previous page.
+     */
+    private String cursor;
+
+    /**
+     * Page size.
+     */
+    private Integer limit;
+}
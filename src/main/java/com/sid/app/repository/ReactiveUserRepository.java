@@ -0,0 +1,85 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.User;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Non-blocking twin of {@link UserRepository}, used by the reactive stack ({@code reactive} profile).
+ * <p>
+ * Query methods mirror {@link UserRepository} one for one, returning {@link Mono}/{@link Flux}
+ * so callers never park a thread on the driver.
+ * </p>
+ */
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+
+    /**
+     * Finds a user by email.
+     *
+     * @param email user email
+     * @return the user, or empty
+     */
+    Mono<User> findByEmail(String email);
+
+    /**
+     * Checks whether a user with the given email exists.
+     *
+     * @param email user email
+     * @return true if a user exists, false otherwise
+     */
+    Mono<Boolean> existsByEmail(String email);
+
+    /**
+     * Finds all users with a given role.
+     *
+     * @param role role of the users
+     * @return users with the role
+     */
+    Flux<User> findByRole(String role);
+
+    /**
+     * Finds all users by status.
+     *
+     * @param status ACTIVE, INACTIVE, SUSPENDED, etc.
+     * @return users with the status
+     */
+    Flux<User> findByStatus(String status);
+
+    /**
+     * Finds all users with a name word starting with the given lowercase prefix.
+     *
+     * @param prefix lowercase word prefix
+     * @return matching users
+     */
+    Flux<User> findByNameTokensStartingWith(String prefix);
+
+    /**
+     * Finds users created after a specific instant.
+     *
+     * @param timestamp exclusive lower bound
+     * @return matching users
+     */
+    @Query("{ 'createdAt': { $gt: ?0 } }")
+    Flux<User> findUsersCreatedAfter(Instant timestamp);
+
+    /**
+     * Finds users modified strictly between the two instants.
+     *
+     * @param from exclusive lower bound
+     * @param to   exclusive upper bound
+     * @return matching users
+     */
+    Flux<User> findByUpdatedAtBetween(Instant from, Instant to);
+
+    /**
+     * Finds users by email domain, using the normalized {@code emailDomain} field and its index.
+     *
+     * @param domain lowercase email domain (e.g., "gmail.com")
+     * @return matching users
+     */
+    Flux<User> findByEmailDomain(String domain);
+}
@@ -0,0 +1,22 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.User;
+import com.sid.app.util.SearchNormalizer;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link UserSearchFieldsCallback}, applied to writes through the {@code ReactiveMongoTemplate}.
+ */
+@Component
+public class ReactiveUserSearchFieldsCallback implements ReactiveBeforeConvertCallback<User> {
+
+    @Override
+    public Publisher<User> onBeforeConvert(User user, String collection) {
+        user.setEmailDomain(SearchNormalizer.emailDomain(user.getEmail()));
+        user.setNameTokens(SearchNormalizer.nameTokens(user.getName()));
+        return Mono.just(user);
+    }
+}
@@ -4,6 +4,7 @@ import com.sid.app.entity.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,28 +50,74 @@ public interface UserRepository extends MongoRepository<User, String> {
     List<User> findByStatus(String status);
 
     /**
-     * Finds all users whose name contains the given keyword (case-insensitive).
+     * Finds all users with a name word starting with the given lowercase prefix.
+     * Backed by the {@code nameTokens_id} index (anchored regex on {@code nameTokens}).
      *
-     * @param namePart partial name
+     * @param prefix lowercase word prefix
      * @return list of matching users
      */
-    List<User> findByNameContainingIgnoreCase(String namePart);
+    List<User> findByNameTokensStartingWith(String prefix);
 
     /**
-     * Custom MongoDB query: Find users created after a specific timestamp.
+     * Custom MongoDB query: Find users created after a specific instant.
+     * <p>
+     * {@code createdAt} is stored as a BSON date, so the parameter must be an {@link Instant};
+     * an epoch-millis {@code Long} would be compared as a number and never match.
+     * </p>
      *
-     * @param timestamp epoch time in milliseconds
+     * @param timestamp exclusive lower bound
      * @return list of users
      */
     @Query("{ 'createdAt': { $gt: ?0 } }")
-    List<User> findUsersCreatedAfter(Long timestamp);
+    List<User> findUsersCreatedAfter(Instant timestamp);
 
     /**
-     * Custom MongoDB query: Find users by email domain.
+     * Finds users created before the given instant (exclusive).
      *
-     * @param domain email domain (e.g., "gmail.com")
+     * @param timestamp exclusive upper bound
+     * @return list of users
+     */
+    List<User> findByCreatedAtBefore(Instant timestamp);
+
+    /**
+     * Finds users created strictly between the two instants.
+     *
+     * @param from exclusive lower bound
+     * @param to   exclusive upper bound
+     * @return list of users
+     */
+    List<User> findByCreatedAtBetween(Instant from, Instant to);
+
+    /**
+     * Finds users modified after the given instant (exclusive).
+     *
+     * @param timestamp exclusive lower bound
+     * @return list of users
+     */
+    List<User> findByUpdatedAtAfter(Instant timestamp);
+
+    /**
+     * Finds users modified before the given instant (exclusive).
+     *
+     * @param timestamp exclusive upper bound
+     * @return list of users
+     */
+    List<User> findByUpdatedAtBefore(Instant timestamp);
+
+    /**
+     * Finds users modified strictly between the two instants.
+     *
+     * @param from exclusive lower bound
+     * @param to   exclusive upper bound
+     * @return list of users
+     */
+    List<User> findByUpdatedAtBetween(Instant from, Instant to);
+
+    /**
+     * Finds users by email domain, using the normalized {@code emailDomain} field and its index.
+     *
+     * @param domain lowercase email domain (e.g., "gmail.com")
      * @return list of users
      */
-    @Query("{ 'email': { $regex: ?0, $options: 'i' } }")
     List<User> findByEmailDomain(String domain);
 }
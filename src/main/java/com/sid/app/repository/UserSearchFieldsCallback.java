@@ -0,0 +1,21 @@
+package com.sid.app.repository;
+
+import com.sid.app.entity.User;
+import com.sid.app.util.SearchNormalizer;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Derives {@link User#getEmailDomain()} and {@link User#getNameTokens()} before a user is converted
+ * for {@code save}/{@code insert} (including bulk inserts). Update-based writes set them in the update itself.
+ */
+@Component
+public class UserSearchFieldsCallback implements BeforeConvertCallback<User> {
+
+    @Override
+    public User onBeforeConvert(User user, String collection) {
+        user.setEmailDomain(SearchNormalizer.emailDomain(user.getEmail()));
+        user.setNameTokens(SearchNormalizer.nameTokens(user.getName()));
+        return user;
+    }
+}
@@ -0,0 +1,107 @@
+package com.sid.app.service;
+
+import com.sid.app.config.UserProperties;
+import com.sid.app.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of Mongo calls in flight from request threads.
+ * <p>
+ * With virtual threads every request gets its own thread, so without a cap a burst would move straight into
+ * the driver's connection-pool wait queue, where it cannot be observed or shed. Callers instead wait here for a
+ * permit, up to {@code app.users.concurrency.acquire-timeout}, and are rejected with {@link ServiceBusyException}
+ * (503) after that. Meters:
+ * </p>
+ * <ul>
+ *     <li>{@code users.mongo.permit.wait} – time spent waiting for a permit</li>
+ *     <li>{@code users.mongo.permit.rejected} – calls rejected after the timeout</li>
+ *     <li>{@code users.mongo.permit.active} / {@code users.mongo.permit.queued} – calls running / waiting</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class MongoConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+    private final Semaphore permits;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public MongoConcurrencyLimiter(UserProperties userProperties, MeterRegistry meterRegistry) {
+        UserProperties.Concurrency settings = userProperties.getConcurrency();
+        this.enabled = settings.isEnabled();
+        this.maxConcurrent = settings.getMaxConcurrent();
+        this.acquireTimeoutNanos = settings.getAcquireTimeout().toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waitTimer = Timer.builder("users.mongo.permit.wait")
+                .description("Time spent waiting for a Mongo concurrency permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("users.mongo.permit.rejected")
+                .description("Mongo calls rejected because no permit was free within the acquire timeout")
+                .register(meterRegistry);
+        Gauge.builder("users.mongo.permit.active", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Mongo calls currently holding a permit")
+                .register(meterRegistry);
+        Gauge.builder("users.mongo.permit.queued", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a Mongo permit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call} while holding a permit.
+     *
+     * @throws ServiceBusyException if no permit became free within the acquire timeout
+     */
+    public <T> T call(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        acquire();
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Runs {@code action} while holding a permit.
+     *
+     * @throws ServiceBusyException if no permit became free within the acquire timeout
+     */
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void acquire() {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for a database connection");
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejected.increment();
+            log.warn("Rejected Mongo call: {} calls in flight, {} waiting", maxConcurrent, permits.getQueueLength());
+            throw new ServiceBusyException("Too many concurrent database requests, retry later");
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.sid.app.service;
+
+import com.sid.app.audit.AuditAction;
+import com.sid.app.audit.AuditEvent;
+import com.sid.app.audit.AuditPublisher;
+import com.sid.app.cache.UserCache;
+import com.sid.app.cache.UserExistenceFilter;
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import com.sid.app.exception.InvalidRequestException;
+import com.sid.app.exception.PreconditionFailedException;
+import com.sid.app.exception.ResourceNotFoundException;
+import com.sid.app.model.CursorPage;
+import com.sid.app.model.UserFilterRequest;
+import com.sid.app.model.UserPatchRequest;
+import com.sid.app.model.UserTimeRangeRequest;
+import com.sid.app.repository.ReactiveUserRepository;
+import com.sid.app.util.CursorCodec;
+import com.sid.app.util.UserProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Non-blocking equivalent of {@link UserService}, active when the app runs as a reactive web application
+ * ({@code reactive} profile). Queries, cursors and cache handling are the same; only the driver differs.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserService {
+
+    private final ReactiveUserRepository reactiveUserRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final UserProperties userProperties;
+    private final UserCache userCache;
+    private final AuditPublisher auditPublisher;
+    private final UserExistenceFilter existenceFilter;
+
+    /**
+     * Get one page of users ordered by {@code _id}, starting after the given cursor.
+     */
+    public Mono<CursorPage<User>> findPage(String cursor, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = userProperties.getPagination().resolveLimit(limit);
+            Query query = UserQueries.idPage(cursor, pageSize)
+                    .withReadPreference(userProperties.getListReadPreference());
+            log.info("Retrieving users page of size={} after cursor={}", pageSize, cursor);
+            return reactiveMongoTemplate.find(query, User.class)
+                    .collectList()
+                    .map(users -> CursorPage.of(users, pageSize, last -> CursorCodec.encode(last.getId())));
+        });
+    }
+
+    /**
+     * Get one page with only the requested fields; see {@link UserService#findPage(String, Integer, String)}.
+     */
+    public Mono<CursorPage<Map<String, Object>>> findPage(String cursor, Integer limit, String fields) {
+        return Mono.defer(() -> {
+            Set<String> selected = UserProjection.parse(fields);
+            int pageSize = userProperties.getPagination().resolveLimit(limit);
+            Query query = UserQueries.projectedIdPage(cursor, pageSize, selected);
+            log.info("Retrieving users page of size={} after cursor={} with fields={}", pageSize, cursor, selected);
+            return findDocuments(query)
+                    .map(documents -> UserQueries.projectedIdViews(documents, pageSize, selected));
+        });
+    }
+
+    /**
+     * Search users by name word prefix and/or email domain, one page at a time ordered by {@code _id}.
+     */
+    public Mono<CursorPage<User>> search(String name, String domain, String cursor, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = userProperties.getSearch().getLimits().resolveLimit(limit);
+            Query query = UserQueries.search(name, domain, cursor, pageSize)
+                    .withReadPreference(userProperties.getListReadPreference());
+            log.info("Searching users by name={} domain={} limit={}", name, domain, pageSize);
+            return reactiveMongoTemplate.find(query, User.class)
+                    .collectList()
+                    .map(users -> CursorPage.of(users, pageSize, last -> CursorCodec.encode(last.getId())));
+        });
+    }
+
+    /**
+     * List users filtered by role, status and creation time; see {@link UserService#filter}.
+     */
+    public Mono<CursorPage<Map<String, Object>>> filter(UserFilterRequest request) {
+        return Mono.defer(() -> {
+            Set<String> fields = UserProjection.parse(request.getFields());
+            Sort.Direction direction = UserQueries.createdAtDirection(request.getSort());
+            int pageSize = userProperties.getPagination().resolveLimit(request.getLimit());
+            Query query = UserQueries.timeOrdered(UserQueries.filterCriteria(request), "createdAt", direction,
+                    request.getCursor(), pageSize, fields);
+            log.info("Filtering users by role={} status={} createdAfter={} createdBefore={} limit={}",
+                    request.getRole(), request.getStatus(), request.getCreatedAfter(), request.getCreatedBefore(), pageSize);
+            return findDocuments(query)
+                    .map(documents -> UserQueries.projectedPage(documents, pageSize, "createdAt", fields));
+        });
+    }
+
+    /**
+     * List users created or modified in {@code [since, until)}; see {@link UserService#findInTimeRange}.
+     */
+    public Mono<CursorPage<Map<String, Object>>> findInTimeRange(UserTimeRangeRequest request) {
+        return Mono.defer(() -> {
+            String field = UserQueries.timeField(request.getField());
+            Set<String> fields = UserProjection.parse(request.getFields());
+            int pageSize = userProperties.getPagination().resolveLimit(request.getLimit());
+            Query query = UserQueries.timeOrdered(UserQueries.rangeCriteria(request, field), field, Sort.Direction.ASC,
+                    request.getCursor(), pageSize, fields);
+            log.info("Listing users by {} in [{}, {}) limit={}", field, request.getSince(), request.getUntil(), pageSize);
+            return findDocuments(query)
+                    .map(documents -> UserQueries.projectedPage(documents, pageSize, field, fields));
+        });
+    }
+
+    /**
+     * Stream all users ordered by {@code _id}, optionally resuming after the last {@code _id} a client received.
+     * Documents are pulled from the driver cursor only as fast as the subscriber requests them.
+     */
+    public Flux<User> streamAll(String afterId, Integer batchSize) {
+        return Flux.defer(() -> {
+            int cursorBatchSize = userProperties.getStreaming().resolveBatchSize(batchSize);
+            Query query = UserQueries.streamAll(afterId, cursorBatchSize)
+                    .withReadPreference(userProperties.getListReadPreference());
+            log.info("Streaming users from MongoDB after id={} with batchSize={}", afterId, cursorBatchSize);
+            return reactiveMongoTemplate.find(query, User.class);
+        });
+    }
+
+    /**
+     * Find user by ID, reading through the user cache. Ids the existence filter rules out are not queried.
+     */
+    public Mono<User> findById(String id) {
+        return Mono.defer(() -> {
+            User cached = userCache.getById(id);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            if (!existenceFilter.mightContainId(id)) {
+                return Mono.error(notFound(id));
+            }
+            log.info("Searching user by id={}", id);
+            // taken before the read, so a delete that lands while it runs keeps the result out of the cache
+            long generation = userCache.generation();
+            return reactiveUserRepository.findById(id)
+                    .switchIfEmpty(Mono.error(() -> missingId(id)))
+                    .doOnNext(user -> userCache.put(user, generation));
+        });
+    }
+
+    /**
+     * Find user by ID with only the requested fields; see {@link UserService#findById(String, String)}.
+     */
+    public Mono<Map<String, Object>> findById(String id, String fields) {
+        return Mono.defer(() -> {
+            Set<String> selected = UserProjection.parse(fields);
+            User cached = userCache.getById(id);
+            if (cached != null) {
+                return Mono.just(UserProjection.toView(cached, selected));
+            }
+            if (!existenceFilter.mightContainId(id)) {
+                return Mono.error(notFound(id));
+            }
+            log.info("Searching user by id={} with fields={}", id, selected);
+            return reactiveMongoTemplate.findOne(UserQueries.projectedById(id, selected), Document.class,
+                            reactiveMongoTemplate.getCollectionName(User.class))
+                    .switchIfEmpty(Mono.error(() -> missingId(id)))
+                    .map(document -> UserProjection.toView(document, selected));
+        });
+    }
+
+    /**
+     * Find user by email, reading through the user cache. Emails the existence filter rules out are not queried.
+     */
+    public Mono<User> findByEmail(String email) {
+        return Mono.defer(() -> {
+            User cached = userCache.getByEmail(email);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            if (!existenceFilter.mightContainEmail(email)) {
+                return Mono.error(emailNotFound(email));
+            }
+            log.info("Searching user by email={}", email);
+            long generation = userCache.generation();
+            return reactiveUserRepository.findByEmail(email)
+                    .switchIfEmpty(Mono.error(() -> {
+                        existenceFilter.recordEmailFalsePositive();
+                        return emailNotFound(email);
+                    }))
+                    .doOnNext(user -> userCache.put(user, generation));
+        });
+    }
+
+    /**
+     * Read only the version of a user, for cheap conditional-GET checks.
+     */
+    public Mono<Long> findVersion(String id) {
+        return Mono.defer(() -> {
+            User cached = userCache.getById(id);
+            if (cached != null) {
+                return Mono.just(cached.getVersion() == null ? 0L : cached.getVersion());
+            }
+            if (!existenceFilter.mightContainId(id)) {
+                return Mono.error(notFound(id));
+            }
+            return reactiveMongoTemplate.findOne(UserQueries.versionOf(id), User.class)
+                    .map(found -> found.getVersion() == null ? 0L : found.getVersion())
+                    .switchIfEmpty(Mono.error(() -> missingId(id)));
+        });
+    }
+
+    /**
+     * Create a new user.
+     */
+    public Mono<User> create(User u) {
+        return Mono.defer(() -> {
+            UserQueries.requireObjectId(u.getId());
+            if (!StringUtils.hasText(u.getId())) {
+                u.setId(null); // Let Mongo generate the ID
+            }
+            u.setVersion(null); // Always insert; the version is assigned by Spring Data
+            log.info("Saving new user with email={} and role={}", u.getEmail(), u.getRole());
+            long generation = userCache.generation();
+            return reactiveUserRepository.save(u)
+                    .doOnNext(created -> {
+                        existenceFilter.add(created);
+                        userCache.put(created, generation);
+                        audit(AuditAction.CREATE, created);
+                    });
+        });
+    }
+
+    /**
+     * Update an existing user in a single round-trip.
+     *
+     * @param expectedVersion version from {@code If-Match}; null for an unconditional update
+     */
+    public Mono<User> update(String id, User updated, Long expectedVersion) {
+        return Mono.defer(() -> {
+            log.info("Updating user id={} with new values", id);
+            return modify(id, expectedVersion, UserUpdates.replaceFields(updated, Instant.now()), AuditAction.UPDATE);
+        });
+    }
+
+    /**
+     * Apply a partial update, writing only the supplied fields.
+     *
+     * @param expectedVersion version from {@code If-Match}; null for an unconditional update
+     */
+    public Mono<User> patch(String id, UserPatchRequest patch, Long expectedVersion) {
+        return Mono.defer(() -> {
+            Update update = UserUpdates.patchFields(patch, Instant.now());
+            if (update == null) {
+                return Mono.error(new InvalidRequestException("No fields to update"));
+            }
+            log.info("Patching user id={}", id);
+            return modify(id, expectedVersion, update, AuditAction.PATCH);
+        });
+    }
+
+    /**
+     * Delete a user by ID in a single round-trip.
+     *
+     * @param expectedVersion version from {@code If-Match}; null for an unconditional delete
+     */
+    public Mono<Void> delete(String id, Long expectedVersion) {
+        return reactiveMongoTemplate.findAndRemove(UserQueries.byIdAndVersion(id, expectedVersion), User.class)
+                .switchIfEmpty(Mono.defer(() -> missingOrStale(id, expectedVersion)))
+                .doOnNext(removed -> {
+                    userCache.evict(id);
+                    auditPublisher.publish(AuditEvent.of(AuditAction.DELETE, id, null));
+                    log.info("Deleted user with id={} and email={}", id, removed.getEmail());
+                })
+                .then();
+    }
+
+    private Mono<User> modify(String id, Long expectedVersion, Update update, AuditAction action) {
+        long generation = userCache.generation();
+        return reactiveMongoTemplate.findAndModify(UserQueries.byIdAndVersion(id, expectedVersion), update,
+                        FindAndModifyOptions.options().returnNew(true), User.class)
+                .doOnNext(modified -> {
+                    existenceFilter.add(modified);
+                    userCache.put(modified, generation);
+                    audit(action, modified);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    userCache.evict(id);
+                    return missingOrStale(id, expectedVersion);
+                }));
+    }
+
+    private void audit(AuditAction action, User user) {
+        auditPublisher.publish(AuditEvent.of(action, user.getId(), user.getVersion()));
+    }
+
+    /**
+     * A conditional write matched nothing: tell a stale version apart from a missing document.
+     */
+    private <T> Mono<T> missingOrStale(String id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(notFound(id));
+        }
+        return reactiveMongoTemplate.exists(UserQueries.byId(id), User.class)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        return Mono.error(notFound(id));
+                    }
+                    log.warn("Version mismatch for user id={}, expected version={}", id, expectedVersion);
+                    return Mono.error(new PreconditionFailedException("User " + id + " is no longer at version " + expectedVersion));
+                });
+    }
+
+    private Mono<List<Document>> findDocuments(Query query) {
+        query.withReadPreference(userProperties.getListReadPreference());
+        return reactiveMongoTemplate.find(query, Document.class, reactiveMongoTemplate.getCollectionName(User.class))
+                .collectList();
+    }
+
+    /**
+     * A lookup the existence filter let through found nothing.
+     */
+    private ResourceNotFoundException missingId(String id) {
+        existenceFilter.recordIdFalsePositive();
+        return notFound(id);
+    }
+
+    private static ResourceNotFoundException emailNotFound(String email) {
+        log.debug("User not found with email={}", email);
+        return new ResourceNotFoundException("User not found with email: " + email);
+    }
+
+    private static ResourceNotFoundException notFound(String id) {
+        log.debug("User not found with id={}", id);
+        return new ResourceNotFoundException("User not found: " + id);
+    }
+}
@@ -0,0 +1,221 @@
+package com.sid.app.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.sid.app.audit.AuditAction;
+import com.sid.app.audit.AuditEvent;
+import com.sid.app.audit.AuditPublisher;
+import com.sid.app.cache.UserCache;
+import com.sid.app.cache.UserExistenceFilter;
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import com.sid.app.model.BulkItemResult;
+import com.sid.app.model.BulkResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service layer for bulk create/upsert of {@link User} records.
+ * <p>
+ * Records are read lazily from the request body, validated one by one and written in
+ * {@link BulkOperations} batches, so a large import costs one round-trip per batch instead of one per user.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserBulkService {
+
+    private static final int DUPLICATE_KEY_CODE = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final UserProperties userProperties;
+    private final UserCache userCache;
+    private final MongoConcurrencyLimiter mongoLimiter;
+    private final AuditPublisher auditPublisher;
+    private final UserExistenceFilter existenceFilter;
+
+    /**
+     * Create or upsert users in batches. Records without an id are inserted under a generated id;
+     * records with an id replace the editable fields of that user, creating it if missing.
+     *
+     * @param users   records in request order; parse failures surface as runtime exceptions
+     * @param ordered stop at the first failure when true; null uses the configured default
+     * @return per-record outcomes
+     */
+    public BulkResult bulkUpsert(Iterator<User> users, Boolean ordered) {
+        UserProperties.Bulk settings = userProperties.getBulk();
+        boolean orderedMode = ordered != null ? ordered : settings.isOrdered();
+        List<BulkItemResult> results = new ArrayList<>();
+        List<PendingWrite> batch = new ArrayList<>(settings.getBatchSize());
+        String abortReason = null;
+        int index = 0;
+
+        while (abortReason == null) {
+            User user;
+            try {
+                if (!users.hasNext()) {
+                    break;
+                }
+                user = users.next();
+            } catch (RuntimeException ex) {
+                log.warn("Malformed bulk record at index={}: {}", index, ex.getMessage());
+                results.add(failure(index, null, BulkItemResult.Status.MALFORMED, ex.getMessage()));
+                abortReason = "Malformed record at index " + index;
+                break;
+            }
+            if (index >= settings.getMaxItems()) {
+                abortReason = "Request exceeds the maximum of " + settings.getMaxItems() + " records";
+                break;
+            }
+
+            String violations = validate(user);
+            if (violations != null) {
+                results.add(failure(index, user.getId(), BulkItemResult.Status.INVALID, violations));
+                if (orderedMode) {
+                    abortReason = "Invalid record at index " + index;
+                }
+            } else {
+                batch.add(new PendingWrite(index, user, !StringUtils.hasText(user.getId())));
+                if (batch.size() >= settings.getBatchSize() && !flush(batch, orderedMode, results) && orderedMode) {
+                    abortReason = "Write failed in ordered mode";
+                }
+            }
+            index++;
+        }
+
+        if (!batch.isEmpty()) {
+            boolean ok = flush(batch, orderedMode, results);
+            if (!ok && orderedMode && abortReason == null) {
+                abortReason = "Write failed in ordered mode";
+            }
+        }
+
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        int succeeded = (int) results.stream().filter(UserBulkService::isSuccess).count();
+        log.info("Bulk upsert finished: received={} succeeded={} ordered={} abortReason={}",
+                index, succeeded, orderedMode, abortReason);
+        return BulkResult.builder()
+                .ordered(orderedMode)
+                .received(index)
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .aborted(abortReason != null)
+                .abortReason(abortReason)
+                .items(results)
+                .build();
+    }
+
+    /**
+     * Write one batch and record an outcome for each of its records.
+     *
+     * @return true when every record in the batch was written
+     */
+    private boolean flush(List<PendingWrite> batch, boolean ordered, List<BulkItemResult> results) {
+        Instant now = Instant.now();
+        BulkOperations ops = mongoTemplate.bulkOps(
+                ordered ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED, User.class);
+        for (PendingWrite write : batch) {
+            User user = write.user();
+            if (write.insert()) {
+                user.setId(new ObjectId().toHexString());
+                user.setUpdatedAt(now);
+                user.setVersion(0L);
+                ops.insert(user);
+            } else {
+                Update update = UserUpdates.replaceFields(user, now)
+                        .setOnInsert("createdAt", user.getCreatedAt() != null ? user.getCreatedAt() : now);
+                ops.upsert(Query.query(Criteria.where("id").is(user.getId())), update);
+            }
+            // added before the write: a batch that fails partway may still have written some of its records
+            existenceFilter.add(user);
+        }
+
+        BulkWriteError[] errors = new BulkWriteError[batch.size()];
+        int firstFailure = batch.size();
+        try {
+            mongoLimiter.run(ops::execute);
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError error : ex.getErrors()) {
+                errors[error.getIndex()] = error;
+                firstFailure = Math.min(firstFailure, error.getIndex());
+            }
+            log.warn("Bulk batch of {} records had {} write errors", batch.size(), ex.getErrors().size());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingWrite write = batch.get(i);
+            String id = write.user().getId();
+            if (errors[i] != null) {
+                BulkItemResult.Status status = errors[i].getCode() == DUPLICATE_KEY_CODE
+                        ? BulkItemResult.Status.DUPLICATE_KEY
+                        : BulkItemResult.Status.FAILED;
+                results.add(failure(write.index(), id, status, errors[i].getMessage()));
+            } else if (ordered && i > firstFailure) {
+                results.add(failure(write.index(), id, BulkItemResult.Status.SKIPPED, "Not attempted after an earlier failure"));
+            } else {
+                if (!write.insert()) {
+                    userCache.evict(id);
+                }
+                auditPublisher.publish(write.insert()
+                        ? AuditEvent.of(AuditAction.CREATE, id, 0L)
+                        : AuditEvent.of(AuditAction.UPSERT, id, null));
+                results.add(BulkItemResult.builder()
+                        .index(write.index())
+                        .id(id)
+                        .status(write.insert() ? BulkItemResult.Status.CREATED : BulkItemResult.Status.UPSERTED)
+                        .build());
+            }
+        }
+        boolean allWritten = firstFailure == batch.size();
+        batch.clear();
+        return allWritten;
+    }
+
+    private String validate(User user) {
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        Stream<String> messages = violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage());
+        if (StringUtils.hasText(user.getId()) && !ObjectId.isValid(user.getId())) {
+            messages = Stream.concat(messages, Stream.of("id: " + UserQueries.invalidIdMessage(user.getId())));
+        } else if (violations.isEmpty()) {
+            return null;
+        }
+        return messages.sorted().collect(Collectors.joining(", "));
+    }
+
+    private static BulkItemResult failure(int index, String id, BulkItemResult.Status status, String error) {
+        return BulkItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .error(error)
+                .build();
+    }
+
+    private static boolean isSuccess(BulkItemResult result) {
+        return result.getStatus() == BulkItemResult.Status.CREATED
+                || result.getStatus() == BulkItemResult.Status.UPSERTED;
+    }
+
+    private record PendingWrite(int index, User user, boolean insert) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.sid.app.service;
+
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for single-user lookups: concurrent calls for the same id (or email) share one Mongo query.
+ * <p>
+ * The first caller for a key runs the lookup on its own thread; callers arriving while it is in flight wait for and
+ * return its result, or rethrow its exception. The flight ends as soon as the lookup returns, so a later call queries
+ * again (or, usually, hits the cache the lookup just filled). This flattens the burst of identical queries when a
+ * popular user's cache entry expires or at a cold start. Meters:
+ * </p>
+ * <ul>
+ *     <li>{@value #COALESCED}: calls that shared another call's query instead of issuing their own, tagged
+ *     {@code key=id|email}</li>
+ *     <li>{@value #IN_FLIGHT}: distinct lookups currently running</li>
+ * </ul>
+ */
+@Component
+public class UserLookupCoalescer {
+
+    public static final String COALESCED = "users.lookups.coalesced";
+    public static final String IN_FLIGHT = "users.lookups.in.flight";
+
+    private final boolean enabled;
+    private final ConcurrentMap<String, CompletableFuture<User>> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<User>> byEmail = new ConcurrentHashMap<>();
+    private final Counter coalescedById;
+    private final Counter coalescedByEmail;
+
+    public UserLookupCoalescer(UserProperties userProperties, MeterRegistry meterRegistry) {
+        this.enabled = userProperties.getCoalescing().isEnabled();
+        this.coalescedById = coalesced(meterRegistry, "id");
+        this.coalescedByEmail = coalesced(meterRegistry, "email");
+        Gauge.builder(IN_FLIGHT, this, self -> self.byId.size() + self.byEmail.size())
+                .description("Distinct user lookups currently running")
+                .register(meterRegistry);
+    }
+
+    private static Counter coalesced(MeterRegistry meterRegistry, String key) {
+        return Counter.builder(COALESCED)
+                .description("User lookups that shared an identical in-flight query")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code lookup}, or joins the lookup already running for this id.
+     */
+    public User byId(String id, Supplier<User> lookup) {
+        return coalesce(byId, coalescedById, id, lookup);
+    }
+
+    /**
+     * Runs {@code lookup}, or joins the lookup already running for this email.
+     */
+    public User byEmail(String email, Supplier<User> lookup) {
+        return coalesce(byEmail, coalescedByEmail, email, lookup);
+    }
+
+    private User coalesce(ConcurrentMap<String, CompletableFuture<User>> inFlight, Counter coalesced, String key,
+                          Supplier<User> lookup) {
+        if (!enabled || key == null) {
+            return lookup.get();
+        }
+        CompletableFuture<User> flight = new CompletableFuture<>();
+        CompletableFuture<User> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        try {
+            User user = lookup.get();
+            flight.complete(user);
+            return user;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static User await(CompletableFuture<User> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.sid.app.service;
+
+import com.sid.app.exception.InvalidRequestException;
+import com.sid.app.model.CursorPage;
+import com.sid.app.model.UserFilterRequest;
+import com.sid.app.model.UserTimeRangeRequest;
+import com.sid.app.util.CursorCodec;
+import com.sid.app.util.SearchNormalizer;
+import com.sid.app.util.UserProjection;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.StringUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the Mongo queries shared by the blocking {@link UserService} and the {@link ReactiveUserService},
+ * so both stacks read the same indexes with the same cursors.
+ */
+final class UserQueries {
+
+    private UserQueries() {
+        // prevent instantiation
+    }
+
+    /**
+     * One page ordered by {@code _id}, fetching {@code pageSize + 1} documents after the cursor.
+     */
+    static Query idPage(String cursor, int pageSize) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(pageSize + 1);
+        if (StringUtils.hasText(cursor)) {
+            query.addCriteria(Criteria.where("id").gt(objectId(CursorCodec.decode(cursor, 1)[0], "cursor")));
+        }
+        return query;
+    }
+
+    /**
+     * Rejects a client-supplied id for a new user unless it is an ObjectId. Mongo compares values of different BSON
+     * types by type first, so a single string {@code _id} would break every {@code _id} keyset: a cursor of one type
+     * never reaches documents of the other.
+     */
+    static void requireObjectId(String id) {
+        if (StringUtils.hasText(id) && !ObjectId.isValid(id)) {
+            throw new InvalidRequestException(invalidIdMessage(id));
+        }
+    }
+
+    static String invalidIdMessage(String id) {
+        return "Invalid user id '" + id + "': ids must be 24-character hex ObjectIds";
+    }
+
+    /**
+     * Decodes a keyset position on {@code _id}, keeping it an ObjectId so it compares against the stored ids.
+     */
+    private static ObjectId objectId(String id, String what) {
+        if (!ObjectId.isValid(id)) {
+            throw new InvalidRequestException("Invalid " + what + ": " + id);
+        }
+        return new ObjectId(id);
+    }
+
+    /**
+     * Name word prefix and/or email domain search, paged like {@link #idPage}.
+     * <p>
+     * A domain-only search walks {@code (emailDomain, _id)} in order. A name prefix is a range over the multikey
+     * {@code nameTokens} index, whose entries are not in {@code _id} order across tokens, so Mongo sorts the matches
+     * in memory (a top-k sort bounded by the page size) after the index scan.
+     * </p>
+     */
+    static Query search(String name, String domain, String cursor, int pageSize) {
+        List<String> tokens = StringUtils.hasText(name) ? SearchNormalizer.nameTokens(name) : List.of();
+        if (tokens.isEmpty() && !StringUtils.hasText(domain)) {
+            throw new InvalidRequestException("At least one of name or domain is required");
+        }
+        Query query = idPage(cursor, pageSize);
+        if (StringUtils.hasText(domain)) {
+            query.addCriteria(Criteria.where("emailDomain").is(SearchNormalizer.domain(domain)));
+        }
+        if (!tokens.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(tokens.stream()
+                    .map(token -> Criteria.where("nameTokens").regex(SearchNormalizer.prefixRegex(token)))
+                    .toArray(Criteria[]::new)));
+        }
+        return query;
+    }
+
+    /**
+     * Every user ordered by {@code _id}, optionally after the given id, read in batches of {@code batchSize}.
+     */
+    static Query streamAll(String afterId, int batchSize) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .cursorBatchSize(batchSize);
+        if (StringUtils.hasText(afterId)) {
+            query.addCriteria(Criteria.where("id").gt(objectId(afterId, "after id")));
+        }
+        return query;
+    }
+
+    static List<Criteria> filterCriteria(UserFilterRequest request) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (StringUtils.hasText(request.getRole())) {
+            criteria.add(Criteria.where("role").is(request.getRole()));
+        }
+        if (StringUtils.hasText(request.getStatus())) {
+            criteria.add(Criteria.where("status").is(request.getStatus()));
+        }
+        if (request.getCreatedAfter() != null) {
+            criteria.add(Criteria.where("createdAt").gte(request.getCreatedAfter()));
+        }
+        if (request.getCreatedBefore() != null) {
+            criteria.add(Criteria.where("createdAt").lt(request.getCreatedBefore()));
+        }
+        return criteria;
+    }
+
+    /**
+     * Range on {@code field}. Without {@code since}, documents lacking the field (written before it existed) are
+     * excluded explicitly: they have no position in the {@code (field, _id)} keyset to resume from.
+     */
+    static List<Criteria> rangeCriteria(UserTimeRangeRequest request, String field) {
+        if (request.getSince() != null && request.getUntil() != null && !request.getSince().isBefore(request.getUntil())) {
+            throw new InvalidRequestException("since must be before until");
+        }
+        List<Criteria> criteria = new ArrayList<>();
+        if (request.getSince() != null) {
+            criteria.add(Criteria.where(field).gte(request.getSince()));
+        } else {
+            criteria.add(Criteria.where(field).ne(null));
+        }
+        if (request.getUntil() != null) {
+            criteria.add(Criteria.where(field).lt(request.getUntil()));
+        }
+        return criteria;
+    }
+
+    /**
+     * Projected query sorted on {@code (timeField, _id)}, resuming after the cursor if given.
+     */
+    static Query timeOrdered(List<Criteria> criteria, String timeField, Sort.Direction direction,
+                             String cursor, int pageSize, Set<String> fields) {
+        if (StringUtils.hasText(cursor)) {
+            criteria.add(afterTimeCursor(timeField, cursor, direction));
+        }
+        Query query = new Query()
+                .with(Sort.by(direction, timeField, "_id"))
+                .limit(pageSize + 1);
+        if (!criteria.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteria));
+        }
+        UserProjection.include(query, fields, "_id", timeField);
+        return query;
+    }
+
+    /**
+     * Page of raw documents fetched by {@link #timeOrdered}, mapped to the requested fields.
+     */
+    static CursorPage<Map<String, Object>> projectedPage(List<Document> documents, int pageSize,
+                                                         String timeField, Set<String> fields) {
+        return views(CursorPage.of(documents, pageSize, last -> timeCursor(last, timeField)), fields);
+    }
+
+    /**
+     * Projected variant of {@link #idPage}. Raw-document queries bypass entity mapping, so it sorts and
+     * compares on {@code _id} itself; cursors are interchangeable with those of {@link #idPage}.
+     */
+    static Query projectedIdPage(String cursor, int pageSize, Set<String> fields) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(pageSize + 1);
+        if (StringUtils.hasText(cursor)) {
+            query.addCriteria(Criteria.where("_id").gt(UserProjection.mongoId(CursorCodec.decode(cursor, 1)[0])));
+        }
+        return UserProjection.include(query, fields, "_id");
+    }
+
+    /**
+     * Page of raw documents fetched by {@link #projectedIdPage}, mapped to the requested fields.
+     */
+    static CursorPage<Map<String, Object>> projectedIdViews(List<Document> documents, int pageSize, Set<String> fields) {
+        return views(CursorPage.of(documents, pageSize, last -> CursorCodec.encode(UserProjection.idOf(last.get("_id")))),
+                fields);
+    }
+
+    /**
+     * One user by raw {@code _id}, restricted to the requested fields.
+     */
+    static Query projectedById(String id, Set<String> fields) {
+        return UserProjection.include(Query.query(Criteria.where("_id").is(UserProjection.mongoId(id))), fields);
+    }
+
+    private static CursorPage<Map<String, Object>> views(CursorPage<Document> page, Set<String> fields) {
+        return CursorPage.<Map<String, Object>>builder()
+                .items(page.getItems().stream().map(document -> UserProjection.toView(document, fields)).toList())
+                .size(page.getSize())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    static String timeField(String field) {
+        if (!StringUtils.hasText(field) || "updatedAt".equals(field)) {
+            return "updatedAt";
+        }
+        if ("createdAt".equals(field)) {
+            return "createdAt";
+        }
+        throw new InvalidRequestException("Unsupported field '" + field + "', use createdAt or updatedAt");
+    }
+
+    static Sort.Direction createdAtDirection(String sort) {
+        if (!StringUtils.hasText(sort) || "createdAt,desc".equalsIgnoreCase(sort.trim())) {
+            return Sort.Direction.DESC;
+        }
+        if ("createdAt".equalsIgnoreCase(sort.trim()) || "createdAt,asc".equalsIgnoreCase(sort.trim())) {
+            return Sort.Direction.ASC;
+        }
+        throw new InvalidRequestException("Unsupported sort '" + sort + "', use createdAt,asc or createdAt,desc");
+    }
+
+    /**
+     * Cursor over a {@code (timestamp, _id)} sort key, taken from a raw document.
+     */
+    static String timeCursor(Document document, String field) {
+        return CursorCodec.encode(String.valueOf(document.getDate(field).getTime()), UserProjection.idOf(document.get("_id")));
+    }
+
+    /**
+     * Keyset condition selecting documents strictly after a {@code (timestamp, _id)} cursor in the given direction.
+     */
+    static Criteria afterTimeCursor(String field, String cursor, Sort.Direction direction) {
+        String[] parts = CursorCodec.decode(cursor, 2);
+        Instant at;
+        try {
+            at = Instant.ofEpochMilli(Long.parseLong(parts[0]));
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor, ex);
+        }
+        Object lastId = UserProjection.mongoId(parts[1]);
+        boolean ascending = direction.isAscending();
+        return new Criteria().orOperator(
+                ascending ? Criteria.where(field).gt(at) : Criteria.where(field).lt(at),
+                new Criteria().andOperator(
+                        Criteria.where(field).is(at),
+                        ascending ? Criteria.where("_id").gt(lastId) : Criteria.where("_id").lt(lastId)));
+    }
+
+    static Query byId(String id) {
+        return Query.query(Criteria.where("id").is(id));
+    }
+
+    static Query byIds(Collection<String> ids) {
+        return Query.query(Criteria.where("id").in(ids));
+    }
+
+    /**
+     * Only the version of one user, for conditional-GET checks.
+     */
+    static Query versionOf(String id) {
+        Query query = byId(id);
+        query.fields().include("version");
+        return query;
+    }
+
+    static Query byIdAndVersion(String id, Long expectedVersion) {
+        Query query = byId(id);
+        if (expectedVersion != null) {
+            // documents written before versioning have no version field and count as version 0
+            query.addCriteria(expectedVersion == 0L
+                    ? Criteria.where("version").in(0L, null)
+                    : Criteria.where("version").is(expectedVersion));
+        }
+        return query;
+    }
+}
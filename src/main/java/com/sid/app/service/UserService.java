@@ -1,14 +1,42 @@
 package com.sid.app.service;
 
+import com.sid.app.audit.AuditAction;
+import com.sid.app.audit.AuditEvent;
+import com.sid.app.audit.AuditPublisher;
+import com.sid.app.cache.UserCache;
+import com.sid.app.cache.UserExistenceFilter;
+import com.sid.app.config.UserProperties;
 import com.sid.app.entity.User;
+import com.sid.app.model.CursorPage;
+import com.sid.app.model.UserFilterRequest;
+import com.sid.app.model.UserMultiGetResult;
+import com.sid.app.model.UserPatchRequest;
+import com.sid.app.model.UserTimeRangeRequest;
 import com.sid.app.repository.UserRepository;
+import com.sid.app.exception.InvalidRequestException;
+import com.sid.app.exception.PreconditionFailedException;
 import com.sid.app.exception.ResourceNotFoundException;
+import com.sid.app.util.CursorCodec;
+import com.sid.app.util.UserProjection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing {@link User} CRUD operations.
@@ -19,61 +47,356 @@ import java.util.List;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final UserProperties userProperties;
+    private final UserCache userCache;
+    private final MongoConcurrencyLimiter mongoLimiter;
+    private final AuditPublisher auditPublisher;
+    private final UserExistenceFilter existenceFilter;
+    private final UserLookupCoalescer lookupCoalescer;
 
     /**
-     * Get all users from database.
+     * Get one page of users ordered by {@code _id}, starting after the given cursor.
      */
-    public List<User> findAll() {
-        log.info("Retrieving all users from MongoDB");
-        return userRepository.findAll();
+    public CursorPage<User> findPage(String cursor, Integer limit) {
+        int pageSize = userProperties.getPagination().resolveLimit(limit);
+        Query query = UserQueries.idPage(cursor, pageSize)
+                .withReadPreference(userProperties.getListReadPreference());
+        log.info("Retrieving users page of size={} after cursor={}", pageSize, cursor);
+        List<User> users = mongoLimiter.call(() -> mongoTemplate.find(query, User.class));
+        return CursorPage.of(users, pageSize, last -> CursorCodec.encode(last.getId()));
     }
 
     /**
-     * Find user by ID.
+     * Get one page like {@link #findPage(String, Integer)}, reading only the requested fields from Mongo
+     * and returning them without mapping into {@link User}.
+     *
+     * @param fields comma-separated field names, e.g. {@code id,name,email}
+     */
+    public CursorPage<Map<String, Object>> findPage(String cursor, Integer limit, String fields) {
+        Set<String> selected = UserProjection.parse(fields);
+        int pageSize = userProperties.getPagination().resolveLimit(limit);
+        Query query = UserQueries.projectedIdPage(cursor, pageSize, selected);
+        log.info("Retrieving users page of size={} after cursor={} with fields={}", pageSize, cursor, selected);
+        return UserQueries.projectedIdViews(findDocuments(query), pageSize, selected);
+    }
+
+    /**
+     * Search users by name word prefix and/or email domain, one page at a time ordered by {@code _id}.
+     * Both filters hit their own {@code (field, _id)} compound index; no regex runs over {@code email} or {@code name}.
+     */
+    public CursorPage<User> search(String name, String domain, String cursor, Integer limit) {
+        int pageSize = userProperties.getSearch().getLimits().resolveLimit(limit);
+        Query query = UserQueries.search(name, domain, cursor, pageSize)
+                .withReadPreference(userProperties.getListReadPreference());
+        log.info("Searching users by name={} domain={} limit={}", name, domain, pageSize);
+        List<User> users = mongoLimiter.call(() -> mongoTemplate.find(query, User.class));
+        return CursorPage.of(users, pageSize, last -> CursorCodec.encode(last.getId()));
+    }
+
+    /**
+     * List users filtered by role, status and creation time, sorted on {@code (createdAt, _id)} and keyset-paginated.
+     * Only the requested fields are read from Mongo, and they are returned without mapping into {@link User}.
+     * Each combination of role and status has its own {@code (..., createdAt, _id)} index on {@link User}, so the
+     * page is read in index order with no in-memory sort.
+     */
+    public CursorPage<Map<String, Object>> filter(UserFilterRequest request) {
+        Set<String> fields = UserProjection.parse(request.getFields());
+        Sort.Direction direction = UserQueries.createdAtDirection(request.getSort());
+        int pageSize = userProperties.getPagination().resolveLimit(request.getLimit());
+        Query query = UserQueries.timeOrdered(UserQueries.filterCriteria(request), "createdAt", direction,
+                request.getCursor(), pageSize, fields);
+
+        log.info("Filtering users by role={} status={} createdAfter={} createdBefore={} limit={}",
+                request.getRole(), request.getStatus(), request.getCreatedAfter(), request.getCreatedBefore(), pageSize);
+        return UserQueries.projectedPage(findDocuments(query), pageSize, "createdAt", fields);
+    }
+
+    /**
+     * List users whose {@code createdAt} or {@code updatedAt} falls in {@code [since, until)}, oldest first,
+     * keyset-paginated on {@code (field, _id)}. This is the "changed since T" feed for incremental sync jobs.
+     */
+    public CursorPage<Map<String, Object>> findInTimeRange(UserTimeRangeRequest request) {
+        String field = UserQueries.timeField(request.getField());
+        Set<String> fields = UserProjection.parse(request.getFields());
+        int pageSize = userProperties.getPagination().resolveLimit(request.getLimit());
+        Query query = UserQueries.timeOrdered(UserQueries.rangeCriteria(request, field), field, Sort.Direction.ASC,
+                request.getCursor(), pageSize, fields);
+
+        log.info("Listing users by {} in [{}, {}) limit={}", field, request.getSince(), request.getUntil(), pageSize);
+        return UserQueries.projectedPage(findDocuments(query), pageSize, field, fields);
+    }
+
+    private List<Document> findDocuments(Query query) {
+        query.withReadPreference(userProperties.getListReadPreference());
+        return mongoLimiter.call(() -> mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(User.class)));
+    }
+
+    /**
+     * Stream all users ordered by {@code _id} straight off a driver cursor, optionally
+     * resuming after the last {@code _id} a client already received.
+     * The caller must close the returned stream to release the cursor.
+     */
+    public Stream<User> streamAll(String afterId, Integer batchSize) {
+        int cursorBatchSize = userProperties.getStreaming().resolveBatchSize(batchSize);
+        Query query = UserQueries.streamAll(afterId, cursorBatchSize)
+                .withReadPreference(userProperties.getListReadPreference());
+        log.info("Streaming users from MongoDB after id={} with batchSize={}", afterId, cursorBatchSize);
+        // the permit covers opening the cursor; later getMores run as the caller consumes the stream
+        return mongoLimiter.call(() -> mongoTemplate.stream(query, User.class));
+    }
+
+    /**
+     * Find user by ID, reading through the user cache. Ids the existence filter rules out are not queried, and
+     * concurrent misses for the same id share one query.
      */
     public User findById(String id) {
-        log.info("Searching user by id={}", id);
-        return userRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("User not found with id={}", id);
-                    return new ResourceNotFoundException("User not found: " + id);
-                });
+        User cached = userCache.getById(id);
+        if (cached != null) {
+            return cached;
+        }
+        if (!existenceFilter.mightContainId(id)) {
+            throw notFound(id);
+        }
+        return lookupCoalescer.byId(id, () -> {
+            log.info("Searching user by id={}", id);
+            long generation = userCache.generation();
+            User user = mongoLimiter.call(() -> userRepository.findById(id))
+                    .orElseThrow(() -> missingId(id));
+            // cached before the flight ends, so callers arriving after it hit the cache
+            userCache.put(user, generation);
+            return user;
+        });
+    }
+
+    /**
+     * Find user by ID, returning only the requested fields. A cached user is rendered directly;
+     * otherwise only those fields are read, and the partial result is not cached.
+     *
+     * @param fields comma-separated field names, e.g. {@code id,name,email}
+     */
+    public Map<String, Object> findById(String id, String fields) {
+        Set<String> selected = UserProjection.parse(fields);
+        User cached = userCache.getById(id);
+        if (cached != null) {
+            return UserProjection.toView(cached, selected);
+        }
+        if (!existenceFilter.mightContainId(id)) {
+            throw notFound(id);
+        }
+        log.info("Searching user by id={} with fields={}", id, selected);
+        Document document = mongoLimiter.call(() -> mongoTemplate.findOne(UserQueries.projectedById(id, selected),
+                Document.class, mongoTemplate.getCollectionName(User.class)));
+        if (document == null) {
+            throw missingId(id);
+        }
+        return UserProjection.toView(document, selected);
+    }
+
+    /**
+     * Find user by email, reading through the user cache. Emails the existence filter rules out are not queried, and
+     * concurrent misses for the same email share one query.
+     */
+    public User findByEmail(String email) {
+        User cached = userCache.getByEmail(email);
+        if (cached != null) {
+            return cached;
+        }
+        if (!existenceFilter.mightContainEmail(email)) {
+            throw emailNotFound(email);
+        }
+        return lookupCoalescer.byEmail(email, () -> {
+            log.info("Searching user by email={}", email);
+            long generation = userCache.generation();
+            User user = mongoLimiter.call(() -> userRepository.findByEmail(email))
+                    .orElseThrow(() -> {
+                        existenceFilter.recordEmailFalsePositive();
+                        return emailNotFound(email);
+                    });
+            userCache.put(user, generation);
+            return user;
+        });
+    }
+
+    /**
+     * Find many users by ID with at most one Mongo query: cached users are served from the cache, ids the existence
+     * filter rules out are reported missing straight away, and the rest are read with a single {@code $in}.
+     * Duplicate ids are answered once.
+     *
+     * @throws InvalidRequestException if more than {@code app.users.multi-get.max-ids} distinct ids are requested
+     */
+    public UserMultiGetResult findByIds(List<String> ids) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (StringUtils.hasText(id)) {
+                requested.add(id);
+            }
+        }
+        int maxIds = userProperties.getMultiGet().getMaxIds();
+        if (requested.isEmpty() || requested.size() > maxIds) {
+            throw new InvalidRequestException("Between 1 and " + maxIds + " distinct ids are allowed, got " + requested.size());
+        }
+
+        Map<String, User> found = new HashMap<>();
+        List<String> toQuery = new ArrayList<>();
+        for (String id : requested) {
+            User cached = userCache.getById(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else if (existenceFilter.mightContainId(id)) {
+                toQuery.add(id);
+            }
+        }
+        if (!toQuery.isEmpty()) {
+            log.info("Searching {} users by id, {} served from cache", toQuery.size(), found.size());
+            long generation = userCache.generation();
+            List<User> users = mongoLimiter.call(() -> mongoTemplate.find(UserQueries.byIds(toQuery), User.class));
+            for (User user : users) {
+                found.put(user.getId(), user);
+                userCache.put(user, generation);
+            }
+            for (String id : toQuery) {
+                if (!found.containsKey(id)) {
+                    existenceFilter.recordIdFalsePositive();
+                }
+            }
+        }
+
+        List<User> users = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : requested) {
+            User user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missing.add(id);
+            }
+        }
+        return UserMultiGetResult.builder().users(users).missing(missing).build();
+    }
+
+    /**
+     * Read only the version of a user, for cheap conditional-GET checks.
+     * A cached user answers without touching Mongo.
+     */
+    public Long findVersion(String id) {
+        User cached = userCache.getById(id);
+        if (cached != null) {
+            return cached.getVersion() == null ? 0L : cached.getVersion();
+        }
+        if (!existenceFilter.mightContainId(id)) {
+            throw notFound(id);
+        }
+        User user = mongoLimiter.call(() -> mongoTemplate.findOne(UserQueries.versionOf(id), User.class));
+        if (user == null) {
+            throw missingId(id);
+        }
+        return user.getVersion() == null ? 0L : user.getVersion();
     }
 
     /**
      * Create a new user.
      */
     public User create(User u) {
+        UserQueries.requireObjectId(u.getId());
         if (!StringUtils.hasText(u.getId())) {
             u.setId(null); // Let Mongo generate the ID
         }
+        u.setVersion(null); // Always insert; the version is assigned by Spring Data
         log.info("Saving new user with email={} and role={}", u.getEmail(), u.getRole());
-        return userRepository.save(u);
+        long generation = userCache.generation();
+        User created = mongoLimiter.call(() -> userRepository.save(u));
+        existenceFilter.add(created);
+        userCache.put(created, generation);
+        audit(AuditAction.CREATE, created);
+        return created;
     }
 
     /**
-     * Update an existing user.
+     * Update an existing user in a single round-trip.
+     *
+     * @param expectedVersion version from {@code If-Match}; null for an unconditional update
      */
-    public User update(String id, User updated) {
-        User existing = findById(id);
+    public User update(String id, User updated, Long expectedVersion) {
         log.info("Updating user id={} with new values", id);
+        return modify(id, expectedVersion, UserUpdates.replaceFields(updated, Instant.now()), AuditAction.UPDATE);
+    }
 
-        existing.setName(updated.getName());
-        existing.setEmail(updated.getEmail());
-        existing.setPhone(updated.getPhone());
-        existing.setRole(updated.getRole());
-        existing.setStatus(updated.getStatus());
-        existing.setAddress(updated.getAddress());
+    /**
+     * Apply a partial update, writing only the supplied fields.
+     *
+     * @param expectedVersion version from {@code If-Match}; null for an unconditional update
+     */
+    public User patch(String id, UserPatchRequest patch, Long expectedVersion) {
+        Update update = UserUpdates.patchFields(patch, Instant.now());
+        if (update == null) {
+            throw new InvalidRequestException("No fields to update");
+        }
+        log.info("Patching user id={}", id);
+        return modify(id, expectedVersion, update, AuditAction.PATCH);
+    }
+
+    /**
+     * Delete a user by ID in a single round-trip.
+     *
+     * @param expectedVersion version from {@code If-Match}; null for an unconditional delete
+     */
+    public void delete(String id, Long expectedVersion) {
+        User removed = mongoLimiter.call(() ->
+                mongoTemplate.findAndRemove(UserQueries.byIdAndVersion(id, expectedVersion), User.class));
+        if (removed == null) {
+            throw missingOrStale(id, expectedVersion);
+        }
+        userCache.evict(id);
+        auditPublisher.publish(AuditEvent.of(AuditAction.DELETE, id, null));
+        log.info("Deleted user with id={} and email={}", id, removed.getEmail());
+    }
+
+    private User modify(String id, Long expectedVersion, Update update, AuditAction action) {
+        long generation = userCache.generation();
+        User modified = mongoLimiter.call(() -> mongoTemplate.findAndModify(UserQueries.byIdAndVersion(id, expectedVersion), update,
+                FindAndModifyOptions.options().returnNew(true), User.class));
+        if (modified == null) {
+            userCache.evict(id);
+            throw missingOrStale(id, expectedVersion);
+        }
+        existenceFilter.add(modified);
+        userCache.put(modified, generation);
+        audit(action, modified);
+        return modified;
+    }
 
-        return userRepository.save(existing);
+    private void audit(AuditAction action, User user) {
+        auditPublisher.publish(AuditEvent.of(action, user.getId(), user.getVersion()));
     }
 
     /**
-     * Delete a user by ID.
+     * A conditional write matched nothing: tell a stale version apart from a missing document.
+     * This costs an extra query, but only on the failure path.
      */
-    public void delete(String id) {
-        User existing = findById(id);
-        log.info("Deleting user with id={} and email={}", id, existing.getEmail());
-        userRepository.delete(existing);
+    private RuntimeException missingOrStale(String id, Long expectedVersion) {
+        if (expectedVersion != null && mongoLimiter.call(() -> mongoTemplate.exists(UserQueries.byId(id), User.class))) {
+            log.warn("Version mismatch for user id={}, expected version={}", id, expectedVersion);
+            return new PreconditionFailedException("User " + id + " is no longer at version " + expectedVersion);
+        }
+        return notFound(id);
+    }
+
+    /**
+     * A lookup the existence filter let through found nothing.
+     */
+    private ResourceNotFoundException missingId(String id) {
+        existenceFilter.recordIdFalsePositive();
+        return notFound(id);
+    }
+
+    private static ResourceNotFoundException emailNotFound(String email) {
+        log.debug("User not found with email={}", email);
+        return new ResourceNotFoundException("User not found with email: " + email);
+    }
+
+    private static ResourceNotFoundException notFound(String id) {
+        log.debug("User not found with id={}", id);
+        return new ResourceNotFoundException("User not found: " + id);
     }
 }
@@ -0,0 +1,64 @@
+package com.sid.app.service;
+
+import com.sid.app.entity.User;
+import com.sid.app.model.UserPatchRequest;
+import com.sid.app.util.SearchNormalizer;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+
+/**
+ * Builds Mongo update documents for {@link User} writes that bypass the repository.
+ */
+final class UserUpdates {
+
+    private UserUpdates() {
+        // prevent instantiation
+    }
+
+    /**
+     * {@code $set} of every client-editable field, as a full PUT-style replacement, bumping the version.
+     */
+    static Update replaceFields(User user, Instant now) {
+        return new Update()
+                .set("name", user.getName())
+                .set("email", user.getEmail())
+                .set("emailDomain", SearchNormalizer.emailDomain(user.getEmail()))
+                .set("nameTokens", SearchNormalizer.nameTokens(user.getName()))
+                .set("phone", user.getPhone())
+                .set("role", user.getRole())
+                .set("status", user.getStatus())
+                .set("address", user.getAddress())
+                .set("updatedAt", now)
+                .inc("version", 1);
+    }
+
+    /**
+     * {@code $set} of only the fields present in the patch, bumping the version; null when nothing was supplied.
+     */
+    static Update patchFields(UserPatchRequest patch, Instant now) {
+        Update update = new Update();
+        setIfPresent(update, "name", patch.getName());
+        setIfPresent(update, "email", patch.getEmail());
+        if (patch.getName() != null) {
+            update.set("nameTokens", SearchNormalizer.nameTokens(patch.getName()));
+        }
+        if (patch.getEmail() != null) {
+            update.set("emailDomain", SearchNormalizer.emailDomain(patch.getEmail()));
+        }
+        setIfPresent(update, "phone", patch.getPhone());
+        setIfPresent(update, "role", patch.getRole());
+        setIfPresent(update, "status", patch.getStatus());
+        setIfPresent(update, "address", patch.getAddress());
+        if (update.getUpdateObject().isEmpty()) {
+            return null;
+        }
+        return update.set("updatedAt", now).inc("version", 1);
+    }
+
+    private static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+    }
+}
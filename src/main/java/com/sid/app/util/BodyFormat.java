@@ -0,0 +1,82 @@
+package com.sid.app.util;
+
+import com.sid.app.constant.AppConstants;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body formats of the user read endpoints, in the order they are offered ({@code produces}).
+ * <p>
+ * Endpoints that tag a response with an {@code ETag} pick the format themselves with {@link #negotiate} and set it as
+ * the {@code Content-Type}, so the body and its entity tag always describe the same representation.
+ * </p>
+ */
+public enum BodyFormat {
+
+    JSON(MediaType.APPLICATION_JSON, null),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor"),
+    SMILE(MediaType.parseMediaType(AppConstants.APPLICATION_SMILE_VALUE), "smile");
+
+    private final MediaType mediaType;
+    private final String tagSuffix;
+
+    BodyFormat(MediaType mediaType, String tagSuffix) {
+        this.mediaType = mediaType;
+        this.tagSuffix = tagSuffix;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Suffix that sets this format's entity tags apart from the JSON ones; null for JSON.
+     */
+    String tagSuffix() {
+        return tagSuffix;
+    }
+
+    /**
+     * Picks the format for an {@code Accept} header the way Spring's content negotiation does: the most specific
+     * compatible type wins, and ties go to the earlier format, so a missing, {@code *}{@code /*} or unparsable header
+     * gets JSON.
+     *
+     * @param accept header value, may be null
+     */
+    public static BodyFormat negotiate(String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return JSON;
+        }
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType requested : acceptable) {
+            for (BodyFormat format : values()) {
+                if (requested.isCompatibleWith(format.mediaType)) {
+                    MediaType produced = format.mediaType.copyQualityValue(requested);
+                    compatible.add(requested.isLessSpecific(produced) ? produced : requested);
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        for (MediaType candidate : compatible) {
+            if (candidate.isConcrete() && candidate.getQualityValue() > 0) {
+                for (BodyFormat format : values()) {
+                    if (format.mediaType.equalsTypeAndSubtype(candidate)) {
+                        return format;
+                    }
+                }
+            }
+        }
+        return JSON;
+    }
+}
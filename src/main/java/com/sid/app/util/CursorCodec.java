@@ -0,0 +1,57 @@
+package com.sid.app.util;
+
+import com.sid.app.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Encodes and decodes the opaque {@code nextCursor} tokens used by keyset pagination.
+ * <p>
+ * A cursor is the sort key of the last returned document (e.g. its {@code _id}),
+ * joined with {@code '|'} and Base64URL-encoded so clients treat it as opaque.
+ * </p>
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+    private static final Pattern SEPARATOR_PATTERN = Pattern.compile(Pattern.quote(SEPARATOR));
+
+    private CursorCodec() {
+        // prevent instantiation
+    }
+
+    /**
+     * Encodes the given sort-key parts into an opaque cursor.
+     *
+     * @param parts sort-key values of the last document on the page
+     * @return Base64URL cursor token
+     */
+    public static String encode(String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode(String...)}.
+     *
+     * @param cursor        cursor token from the client
+     * @param expectedParts number of sort-key parts the caller expects
+     * @return decoded sort-key parts
+     * @throws InvalidRequestException if the cursor is malformed
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor, ex);
+        }
+        String[] parts = SEPARATOR_PATTERN.split(raw, -1);
+        if (parts.length != expectedParts) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+        return parts;
+    }
+}
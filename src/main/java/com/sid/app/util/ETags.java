@@ -0,0 +1,120 @@
+package com.sid.app.util;
+
+import com.sid.app.exception.PreconditionFailedException;
+
+/**
+ * Maps a document version to a strong HTTP entity tag and evaluates conditional request headers against it.
+ * <p>
+ * Each {@link BodyFormat} of a version is a different representation, so it gets its own tag: {@code "3"} for JSON,
+ * {@code "3-cbor"} and {@code "3-smile"} for the binary formats. Responses carrying such a tag also send
+ * {@code Vary: Accept}.
+ * </p>
+ */
+public final class ETags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final char SUFFIX_SEPARATOR = '-';
+
+    private ETags() {
+        // prevent instantiation
+    }
+
+    /**
+     * Strong entity tag for a document version. Documents written before versioning was added count as version 0.
+     *
+     * @param version document version, may be null
+     * @return quoted entity tag, e.g. {@code "3"}
+     */
+    public static String of(Long version) {
+        return of(version, BodyFormat.JSON);
+    }
+
+    /**
+     * Strong entity tag for one format of a document version.
+     *
+     * @param version document version, may be null
+     * @param format  body format the tag is sent with
+     * @return quoted entity tag, e.g. {@code "3"} or {@code "3-cbor"}
+     */
+    public static String of(Long version, BodyFormat format) {
+        String tag = String.valueOf(version == null ? 0L : version);
+        return "\"" + (format.tagSuffix() == null ? tag : tag + SUFFIX_SEPARATOR + format.tagSuffix()) + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header (weak comparison, lists and {@code *} allowed).
+     *
+     * @param ifNoneMatch header value, may be null
+     * @param version     current document version
+     * @return true when the client's copy is current and a 304 can be sent
+     */
+    public static boolean matchesAny(String ifNoneMatch, Long version) {
+        return matchesAny(ifNoneMatch, version, BodyFormat.JSON);
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against the tag of one format of the current version.
+     *
+     * @param ifNoneMatch header value, may be null
+     * @param version     current document version
+     * @param format      body format the response would be sent in
+     * @return true when the client's copy is current and a 304 can be sent
+     */
+    public static boolean matchesAny(String ifNoneMatch, Long version, BodyFormat format) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String current = of(version, format);
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals(ANY)) {
+                return true;
+            }
+            if (candidate.startsWith(WEAK_PREFIX)) {
+                candidate = candidate.substring(WEAK_PREFIX.length());
+            }
+            if (candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the version a write is conditional on from an {@code If-Match} header. A tag of any
+     * {@link BodyFormat} names its version.
+     *
+     * @param ifMatch header value, may be null
+     * @return expected version, or null when the write is unconditional
+     * @throws PreconditionFailedException if the header can never match a version of this resource
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(withoutFormatSuffix(tag.substring(1, tag.length() - 1)));
+            } catch (NumberFormatException ignored) {
+                // fall through: not one of our entity tags
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current version");
+    }
+
+    private static String withoutFormatSuffix(String opaqueTag) {
+        int separator = opaqueTag.indexOf(SUFFIX_SEPARATOR);
+        if (separator < 0) {
+            return opaqueTag;
+        }
+        String suffix = opaqueTag.substring(separator + 1);
+        for (BodyFormat format : BodyFormat.values()) {
+            if (suffix.equals(format.tagSuffix())) {
+                return opaqueTag.substring(0, separator);
+            }
+        }
+        return opaqueTag;
+    }
+}
@@ -0,0 +1,81 @@
+package com.sid.app.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Derives the normalized, index-friendly search fields stored alongside each user.
+ */
+public final class SearchNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SearchNormalizer() {
+        // prevent instantiation
+    }
+
+    /**
+     * Lowercase domain part of an email address, e.g. {@code "gmail.com"}.
+     *
+     * @param email email address, may be null
+     * @return domain, or null when the email has none
+     */
+    public static String emailDomain(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        if (at < 0 || at == email.length() - 1) {
+            return null;
+        }
+        return email.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalizes a domain supplied by a search caller; a leading {@code '@'} is ignored.
+     *
+     * @param domain domain as typed by the caller
+     * @return lowercase domain
+     */
+    public static String domain(String domain) {
+        String trimmed = domain.trim().toLowerCase(Locale.ROOT);
+        return trimmed.startsWith("@") ? trimmed.substring(1) : trimmed;
+    }
+
+    /**
+     * Lowercase words of a name, used for index-backed word-prefix search.
+     *
+     * @param name user name, may be null
+     * @return distinct lowercase tokens, empty when the name is blank
+     */
+    public static List<String> nameTokens(String name) {
+        if (name == null || name.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(WHITESPACE.split(name.trim().toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Anchored, case-sensitive regex matching values that start with {@code prefix}.
+     * Non-alphanumeric characters are escaped so MongoDB can turn it into tight index bounds.
+     *
+     * @param prefix literal prefix
+     * @return regex such as {@code ^jo\.h}
+     */
+    public static String prefixRegex(String prefix) {
+        StringBuilder regex = new StringBuilder(prefix.length() + 4).append('^');
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+        return regex.toString();
+    }
+}
@@ -0,0 +1,138 @@
+package com.sid.app.util;
+
+import com.sid.app.entity.User;
+import com.sid.app.exception.InvalidRequestException;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldsets for user read endpoints: turns a {@code fields=} parameter into a Mongo projection
+ * and renders the projected raw documents in the same JSON shape as {@link User},
+ * without mapping them into {@code User} first.
+ */
+public final class UserProjection {
+
+    /**
+     * Public {@code User} fields that may be requested, in their default JSON order.
+     */
+    public static final List<String> FIELDS = List.of(
+            "id", "name", "email", "phone", "role", "status", "address", "createdAt", "updatedAt", "version");
+
+    private UserProjection() {
+        // prevent instantiation
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter.
+     *
+     * @param fields e.g. {@code "id,name,email"}; null or blank selects every field
+     * @return requested fields in request order
+     * @throws InvalidRequestException on unknown fields
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return new LinkedHashSet<>(FIELDS);
+        }
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String field : requested) {
+            if (!FIELDS.contains(field)) {
+                throw new InvalidRequestException("Unknown field '" + field + "', allowed: " + String.join(",", FIELDS));
+            }
+        }
+        if (requested.isEmpty()) {
+            throw new InvalidRequestException("fields must name at least one field");
+        }
+        return requested;
+    }
+
+    /**
+     * Restricts the query to the requested fields plus any extra fields the caller needs internally.
+     */
+    public static Query include(Query query, Set<String> fields, String... extraMongoFields) {
+        fields.forEach(field -> query.fields().include(mongoField(field)));
+        for (String extra : extraMongoFields) {
+            query.fields().include(extra);
+        }
+        return query;
+    }
+
+    /**
+     * Renders a projected document with only the requested fields, using {@code User}'s JSON conventions.
+     */
+    public static Map<String, Object> toView(Document document, Set<String> fields) {
+        Map<String, Object> view = new LinkedHashMap<>(fields.size() * 2);
+        for (String field : fields) {
+            view.put(field, jsonValue(document.get(mongoField(field))));
+        }
+        return view;
+    }
+
+    /**
+     * Renders an already loaded user (e.g. from the cache) the same way as {@link #toView(Document, Set)}.
+     */
+    public static Map<String, Object> toView(User user, Set<String> fields) {
+        Map<String, Object> view = new LinkedHashMap<>(fields.size() * 2);
+        for (String field : fields) {
+            view.put(field, switch (field) {
+                case "id" -> user.getId();
+                case "name" -> user.getName();
+                case "email" -> user.getEmail();
+                case "phone" -> user.getPhone();
+                case "role" -> user.getRole();
+                case "status" -> user.getStatus();
+                case "address" -> user.getAddress();
+                case "createdAt" -> timestamp(user.getCreatedAt());
+                case "updatedAt" -> timestamp(user.getUpdatedAt());
+                case "version" -> user.getVersion();
+                default -> throw new IllegalArgumentException("Unknown field '" + field + "'");
+            });
+        }
+        return view;
+    }
+
+    /**
+     * Converts a user id to the value stored in {@code _id}, matching Spring Data's String-to-ObjectId mapping.
+     */
+    public static Object mongoId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    /**
+     * Converts a stored {@code _id} back to the user id string.
+     */
+    public static String idOf(Object mongoId) {
+        return mongoId instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(mongoId);
+    }
+
+    private static String mongoField(String field) {
+        return "id".equals(field) ? "_id" : field;
+    }
+
+    private static Object jsonValue(Object value) {
+        if (value instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        if (value instanceof Date date) {
+            return UtcInstantSerializer.format(date.toInstant());
+        }
+        return value;
+    }
+
+    private static String timestamp(Instant instant) {
+        return instant == null ? null : UtcInstantSerializer.format(instant);
+    }
+}
@@ -0,0 +1,101 @@
+package com.sid.app.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sid.app.constant.AppConstants;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an {@link Instant} as {@link AppConstants#TIMESTAMP_PATTERN} in UTC, e.g. {@code 2024-01-01T00:00:00.000Z}.
+ * <p>
+ * Years 0001-9999 are rendered straight from the epoch seconds into a small char array, instead of going through
+ * {@link DateTimeFormatter}, which builds a temporal accessor and a print context for every value. Other years fall
+ * back to the (cached) formatter, so the output is identical for every instant.
+ * </p>
+ */
+public class UtcInstantSerializer extends StdSerializer<Instant> {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern(AppConstants.TIMESTAMP_PATTERN).withZone(ZoneOffset.UTC);
+    private static final int LENGTH = 24;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    /**
+     * Days from 0000-03-01 to 1970-01-01, the shift used by the civil-from-days conversion below.
+     */
+    private static final long DAYS_0000_TO_1970 = 719_468L;
+    private static final long DAYS_PER_400_YEARS = 146_097L;
+
+    public UtcInstantSerializer() {
+        super(Instant.class);
+    }
+
+    @Override
+    public void serialize(Instant value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        char[] chars = new char[LENGTH];
+        if (write(value, chars)) {
+            gen.writeString(chars, 0, LENGTH);
+        } else {
+            gen.writeString(TIMESTAMP_FORMAT.format(value));
+        }
+    }
+
+    /**
+     * Formats an instant the same way as {@link #serialize}, for places that build JSON values by hand.
+     */
+    public static String format(Instant value) {
+        char[] chars = new char[LENGTH];
+        return write(value, chars) ? new String(chars) : TIMESTAMP_FORMAT.format(value);
+    }
+
+    /**
+     * Fills {@code out} with the 24-character timestamp, or returns false if the year has no four-digit form
+     * ({@code yyyy} is the year of era, so years before 0001 also take the formatter path).
+     */
+    static boolean write(Instant value, char[] out) {
+        long epochSecond = value.getEpochSecond();
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        // proleptic Gregorian date from days since the epoch, counting years from March so leap days come last
+        long shifted = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(shifted, DAYS_PER_400_YEARS);
+        long dayOfEra = shifted - era * DAYS_PER_400_YEARS;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 1 || year > 9999) {
+            return false;
+        }
+
+        digits(out, 0, (int) year, 4);
+        out[4] = '-';
+        digits(out, 5, month, 2);
+        out[7] = '-';
+        digits(out, 8, day, 2);
+        out[10] = 'T';
+        digits(out, 11, secondOfDay / 3600, 2);
+        out[13] = ':';
+        digits(out, 14, secondOfDay / 60 % 60, 2);
+        out[16] = ':';
+        digits(out, 17, secondOfDay % 60, 2);
+        out[19] = '.';
+        digits(out, 20, value.getNano() / 1_000_000, 3);
+        out[23] = 'Z';
+        return true;
+    }
+
+    private static void digits(char[] out, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
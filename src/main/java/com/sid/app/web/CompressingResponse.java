@@ -0,0 +1,318 @@
+package com.sid.app.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Response wrapper used by {@link ResponseCompressionFilter}. Buffers the body until it reaches the size threshold,
+ * then either switches to the encoder or writes the body through unchanged. With no coding (the client accepts none)
+ * nothing is buffered; the wrapper only adds {@code Vary: Accept-Encoding} to bodies that could have been compressed.
+ * <p>
+ * A {@link WriteListener} switches the response to non-blocking writes, which the encoder does not support: if it is
+ * registered before anything has been compressed, the body is sent as is and the listener goes to the container's
+ * stream.
+ * </p>
+ * <p>
+ * The encoder writes into an in-memory sink that is drained to the socket after every call, so the time recorded
+ * for compression does not include waiting on a slow client.
+ * </p>
+ */
+final class CompressingResponse extends HttpServletResponseWrapper {
+
+    private final ContentCoding coding;
+    private final ResponseCompressionFilter filter;
+    private final ByteArrayOutputStream buffer;
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(8192);
+    private final ServletOutputStream outputStream = new BodyStream();
+    private PrintWriter writer;
+    private long contentLength = -1;
+
+    private boolean decided;
+    private boolean finished;
+    private boolean nonBlocking;
+    private ServletOutputStream target;
+    private OutputStream encoder;
+    private long uncompressedBytes;
+    private long compressedBytes;
+    private long encodeNanos;
+
+    /**
+     * @param coding the coding negotiated with the client, or null if it accepts none
+     */
+    CompressingResponse(HttpServletResponse response, ContentCoding coding, ResponseCompressionFilter filter) {
+        super(response);
+        this.coding = coding;
+        this.filter = filter;
+        this.buffer = new ByteArrayOutputStream(coding == null ? 0 : Math.min(filter.minResponseSize(), 8192));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (decided && !isCompressing()) {
+            super.setContentLengthLong(len);
+        } else {
+            contentLength = len;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    /**
+     * Flushes are held back until the body is large enough to decide whether to compress it.
+     */
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (decided) {
+            outputStream.flush();
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (!decided) {
+            buffer.reset();
+            uncompressedBytes = 0;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (!decided) {
+            buffer.reset();
+            uncompressedBytes = 0;
+            contentLength = -1;
+        }
+    }
+
+    /**
+     * Completes the body: sends a short buffered body as is, or closes the encoder and records the metrics.
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        if (!decided) {
+            decide(false);
+        }
+        finished = true;
+        if (isCompressing()) {
+            long start = System.nanoTime();
+            encoder.close();
+            encodeNanos += System.nanoTime() - start;
+            drain();
+            filter.recordCompressed(coding, uncompressedBytes, compressedBytes, encodeNanos);
+        }
+    }
+
+    private boolean isCompressing() {
+        return encoder != null;
+    }
+
+    /**
+     * @param reachedThreshold whether the body is known to be at least {@code min-response-size}; without a coding
+     *                         nothing is buffered, so any body counts as large enough
+     */
+    private void decide(boolean reachedThreshold) throws IOException {
+        decided = true;
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        target = response.getOutputStream();
+        if (!reachedThreshold && buffer.size() == 0) {
+            // no body at all (HEAD, 204, 304, ...): nothing to compress and nothing to measure
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+            return;
+        }
+        String skipReason = nonBlocking ? "non-blocking" : filter.skipReason(this);
+        if (skipReason == null) {
+            // another client, or a larger body, gets this resource compressed
+            varyByAcceptEncoding(response);
+            if (!reachedThreshold) {
+                skipReason = "below-min-size";
+            }
+        }
+        if (coding != null && skipReason == null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, coding.token());
+            encoder = coding.encoder(sink, filter.properties());
+        } else {
+            if (coding != null) {
+                filter.recordSkipped(skipReason);
+            }
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            } else if (!reachedThreshold && !nonBlocking && !isCommitted()) {
+                super.setContentLengthLong(buffer.size());
+            }
+        }
+        if (buffer.size() > 0) {
+            writeDecided(buffer.toByteArray(), 0, buffer.size());
+            buffer.reset();
+        }
+    }
+
+    private static void varyByAcceptEncoding(HttpServletResponse response) {
+        for (String vary : response.getHeaders(HttpHeaders.VARY)) {
+            for (String name : vary.split(",")) {
+                String trimmed = name.trim();
+                if (trimmed.equals("*") || trimmed.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING)) {
+                    return;
+                }
+            }
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private void writeDecided(byte[] bytes, int off, int len) throws IOException {
+        if (isCompressing()) {
+            long start = System.nanoTime();
+            encoder.write(bytes, off, len);
+            encodeNanos += System.nanoTime() - start;
+            drain();
+        } else {
+            target.write(bytes, off, len);
+        }
+    }
+
+    private void drain() throws IOException {
+        if (sink.size() > 0) {
+            compressedBytes += sink.size();
+            sink.writeTo(target);
+            sink.reset();
+        }
+    }
+
+    private final class BodyStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) throws IOException {
+            if (finished) {
+                throw new IOException("Response body already completed");
+            }
+            if (!decided) {
+                uncompressedBytes += len;
+                if (coding != null && buffer.size() + len < filter.minResponseSize()) {
+                    buffer.write(bytes, off, len);
+                    return;
+                }
+                decide(true);
+                writeDecided(bytes, off, len);
+                return;
+            }
+            if (isCompressing()) {
+                uncompressedBytes += len;
+            }
+            writeDecided(bytes, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!decided || finished) {
+                return;
+            }
+            if (isCompressing()) {
+                long start = System.nanoTime();
+                encoder.flush();
+                encodeNanos += System.nanoTime() - start;
+                drain();
+            }
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return !nonBlocking || target.isReady();
+        }
+
+        /**
+         * Sends the body uncompressed and hands the listener to the container's stream. Bytes buffered so far are
+         * written first, while the stream is still blocking.
+         */
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            if (isCompressing()) {
+                throw new IllegalStateException("Non-blocking writes cannot start once the body is being compressed");
+            }
+            if (!decided) {
+                nonBlocking = true;
+                try {
+                    decide(false);
+                } catch (IOException ex) {
+                    throw new IllegalStateException("Could not write the buffered body", ex);
+                }
+            }
+            nonBlocking = true;
+            target.setWriteListener(listener);
+        }
+    }
+}
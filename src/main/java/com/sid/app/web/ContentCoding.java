@@ -0,0 +1,132 @@
+package com.sid.app.web;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.github.luben.zstd.util.Native;
+import com.sid.app.config.CompressionProperties;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP content codings the {@link ResponseCompressionFilter} can produce.
+ */
+public enum ContentCoding {
+
+    ZSTD("zstd") {
+        @Override
+        OutputStream encoder(OutputStream out, CompressionProperties properties) throws IOException {
+            return new ZstdOutputStream(out, properties.getZstdLevel());
+        }
+
+        @Override
+        boolean isAvailable() {
+            try {
+                Native.load();
+                return true;
+            } catch (LinkageError ex) {
+                return false;
+            }
+        }
+    },
+
+    GZIP("gzip") {
+        @Override
+        OutputStream encoder(OutputStream out, CompressionProperties properties) throws IOException {
+            int level = properties.getGzipLevel();
+            return new GZIPOutputStream(out, BUFFER_SIZE, true) {
+                {
+                    def.setLevel(level);
+                }
+            };
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * The {@code Content-Encoding} / {@code Accept-Encoding} token.
+     */
+    public String token() {
+        return token;
+    }
+
+    /**
+     * Wraps {@code out} in a compressing stream; flushing it emits everything written so far.
+     */
+    abstract OutputStream encoder(OutputStream out, CompressionProperties properties) throws IOException;
+
+    /**
+     * Whether the coding can be used on this platform.
+     */
+    boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header accepts this coding with a non-zero quality, either by name or through
+     * {@code *}. A missing header accepts nothing.
+     *
+     * @param acceptEncoding the request's {@code Accept-Encoding} header, may be null
+     */
+    public boolean isAcceptedBy(String acceptEncoding) {
+        return negotiate(acceptEncoding, List.of(this)) != null;
+    }
+
+    static ContentCoding of(String token) {
+        for (ContentCoding coding : values()) {
+            if (coding.token.equalsIgnoreCase(token.trim())) {
+                return coding;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content coding '" + token + "', use zstd or gzip");
+    }
+
+    /**
+     * Picks the first offered coding the client accepts with a non-zero quality. The server's order wins over the
+     * client's q-values, which only decide whether a coding is acceptable at all.
+     *
+     * @param acceptEncoding the request's {@code Accept-Encoding} header, may be null
+     * @param offered        codings in the server's order of preference
+     * @return the coding to use, or null to send the body as is
+     */
+    static ContentCoding negotiate(String acceptEncoding, List<ContentCoding> offered) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return null;
+        }
+        Map<String, Double> accepted = new HashMap<>();
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException ex) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            accepted.put(parts[0].trim().toLowerCase(Locale.ROOT), quality);
+        }
+        for (ContentCoding coding : offered) {
+            Double quality = accepted.getOrDefault(coding.token, accepted.get("*"));
+            if (quality != null && quality > 0) {
+                return coding;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,172 @@
+package com.sid.app.web;
+
+import com.sid.app.config.CompressionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compresses response bodies with the best {@link ContentCoding} the client accepts, once they reach
+ * {@code app.compression.min-response-size} and if their content type is listed in {@code app.compression.mime-types}.
+ * <p>
+ * Bodies are streamed through the encoder, so large and streaming responses ({@code /users/stream}) are never held in
+ * memory; only the first {@code min-response-size} bytes are buffered to decide. Responses that already have a
+ * {@code Content-Encoding} or carry a strong {@code ETag} are left alone, since a compressed body is a different
+ * representation from the one the strong tag names. Every other response of a listed type gets
+ * {@code Vary: Accept-Encoding}, compressed or not, so shared caches never serve one client's encoding to another.
+ * </p>
+ * Published metrics, per encoding:
+ * <ul>
+ *     <li>{@value #RATIO}: uncompressed / compressed size of each compressed response</li>
+ *     <li>{@value #TIME}: time spent in the encoder per response, excluding socket writes</li>
+ *     <li>{@value #SKIPPED}: eligible responses sent uncompressed, by reason</li>
+ * </ul>
+ */
+@Slf4j
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    public static final String RATIO = "http.server.response.compression.ratio";
+    public static final String TIME = "http.server.response.compression.time";
+    public static final String SKIPPED = "http.server.response.compression.skipped";
+
+    private static final String RESPONSE_ATTRIBUTE = ResponseCompressionFilter.class.getName() + ".response";
+
+    private final CompressionProperties properties;
+    private final List<ContentCoding> codings;
+    private final List<MediaType> mimeTypes;
+    private final int minResponseSize;
+    private final MeterRegistry meterRegistry;
+    private final Map<ContentCoding, DistributionSummary> ratios = new EnumMap<>(ContentCoding.class);
+    private final Map<ContentCoding, Timer> times = new EnumMap<>(ContentCoding.class);
+
+    public ResponseCompressionFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.minResponseSize = (int) Math.min(Integer.MAX_VALUE, properties.getMinResponseSize().toBytes());
+        this.mimeTypes = properties.getMimeTypes().stream().map(MediaType::parseMediaType).toList();
+        List<ContentCoding> available = new ArrayList<>();
+        for (String encoding : properties.getEncodings()) {
+            ContentCoding coding = ContentCoding.of(encoding);
+            if (coding.isAvailable()) {
+                available.add(coding);
+            } else {
+                log.warn("Response compression with {} is not available on this platform, skipping it", coding.token());
+            }
+        }
+        this.codings = List.copyOf(available);
+        for (ContentCoding coding : codings) {
+            ratios.put(coding, DistributionSummary.builder(RATIO)
+                    .description("Uncompressed to compressed size of compressed responses")
+                    .tag("encoding", coding.token())
+                    .publishPercentiles(0.5, 0.9)
+                    .register(meterRegistry));
+            times.put(coding, Timer.builder(TIME)
+                    .description("Time spent compressing a response body, excluding socket writes")
+                    .tag("encoding", coding.token())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Streaming bodies are written after the initial dispatch returns; the encoder is finished on the async dispatch.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            CompressingResponse compressing = (CompressingResponse) request.getAttribute(RESPONSE_ATTRIBUTE);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                finishUnlessAsync(request, compressing);
+            }
+            return;
+        }
+        ContentCoding coding = HttpMethod.HEAD.matches(request.getMethod())
+                ? null
+                : ContentCoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), codings);
+        CompressingResponse compressing = new CompressingResponse(response, coding, this);
+        request.setAttribute(RESPONSE_ATTRIBUTE, compressing);
+        try {
+            chain.doFilter(request, compressing);
+        } finally {
+            finishUnlessAsync(request, compressing);
+        }
+    }
+
+    private static void finishUnlessAsync(HttpServletRequest request, CompressingResponse compressing) throws IOException {
+        if (compressing != null && !request.isAsyncStarted()) {
+            request.removeAttribute(RESPONSE_ATTRIBUTE);
+            compressing.finish();
+        }
+    }
+
+    CompressionProperties properties() {
+        return properties;
+    }
+
+    int minResponseSize() {
+        return minResponseSize;
+    }
+
+    /**
+     * Why a response that reached the size threshold should still go out uncompressed, or null to compress it.
+     */
+    String skipReason(HttpServletResponse response) {
+        if (response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return "already-encoded";
+        }
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            return "strong-etag";
+        }
+        String contentType = response.getContentType();
+        if (contentType == null) {
+            return "mime-type";
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return mimeTypes.stream().anyMatch(allowed -> allowed.includes(type)) ? null : "mime-type";
+        } catch (InvalidMediaTypeException ex) {
+            return "mime-type";
+        }
+    }
+
+    void recordSkipped(String reason) {
+        Counter.builder(SKIPPED)
+                .description("Responses sent uncompressed although the client accepted compression")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    void recordCompressed(ContentCoding coding, long uncompressedBytes, long compressedBytes, long encodeNanos) {
+        if (compressedBytes > 0) {
+            ratios.get(coding).record((double) uncompressedBytes / compressedBytes);
+        }
+        times.get(coding).record(encodeNanos, TimeUnit.NANOSECONDS);
+    }
+}
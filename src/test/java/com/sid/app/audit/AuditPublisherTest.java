@@ -0,0 +1,177 @@
+package com.sid.app.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sid.app.config.AuditProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPublisherTest {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer connector;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final Set<String> receivedIds = ConcurrentHashMap.newKeySet();
+
+    private SimpleMeterRegistry registry;
+    private AuditProperties properties;
+    private AuditPublisher publisher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connector = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        connector.createContext("/audit", exchange -> {
+            JsonNode batch = MAPPER.readTree(exchange.getRequestBody());
+            int code = status.get();
+            if (code == 200) {
+                batchSizes.add(batch.size());
+                batch.forEach(event -> receivedIds.add(event.get("id").asText()));
+            }
+            exchange.sendResponseHeaders(code, -1);
+            exchange.close();
+        });
+        connector.start();
+
+        properties = new AuditProperties();
+        properties.getConnector().setUrl("http://localhost:" + connector.getAddress().getPort() + "/audit");
+        properties.getConnector().setUsername("audit");
+        properties.getConnector().setPassword("audit");
+        AuditProperties.Pipeline pipeline = properties.getPipeline();
+        pipeline.setEnabled(true);
+        pipeline.setBatchSize(3);
+        pipeline.setFlushInterval(Duration.ofMillis(100));
+        pipeline.setMaxAttempts(2);
+        pipeline.setInitialBackoff(Duration.ofMillis(10));
+        pipeline.setMaxBackoff(Duration.ofMillis(50));
+        pipeline.setSpillFile(tempDir.resolve("audit-spill.ndjson"));
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null && publisher.isRunning()) {
+            publisher.stop();
+        }
+        connector.stop(0);
+    }
+
+    private AuditPublisher newPublisher() {
+        publisher = new AuditPublisher(properties, MAPPER, registry);
+        return publisher;
+    }
+
+    private double count(String outcome) {
+        return registry.get(AuditPublisher.EVENTS).tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testDeliversEventsInBatches() throws Exception {
+        newPublisher().start();
+
+        for (int i = 0; i < 7; i++) {
+            publisher.publish(AuditEvent.of(AuditAction.CREATE, "user-" + i, 0L));
+        }
+
+        // the counter moves after the connector has answered, so wait on it rather than on the ids received
+        await(() -> count("delivered") == 7);
+        assertEquals(7, receivedIds.size());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 3));
+        assertEquals(0, count("spilled"));
+    }
+
+    @Test
+    void testSpillsWhileConnectorIsDownAndReplaysOnRecovery() throws Exception {
+        status.set(503);
+        newPublisher().start();
+        AuditEvent first = AuditEvent.of(AuditAction.UPDATE, "user-1", 2L);
+        AuditEvent second = AuditEvent.of(AuditAction.DELETE, "user-2", null);
+
+        publisher.publish(first);
+        publisher.publish(second);
+
+        await(() -> count("spilled") == 2);
+        assertEquals(2, Files.readAllLines(properties.getPipeline().getSpillFile()).size());
+        assertTrue(receivedIds.isEmpty());
+
+        status.set(200);
+
+        await(() -> count("replayed") == 2);
+        assertEquals(Set.of(first.getId(), second.getId()), receivedIds);
+        assertFalse(Files.exists(properties.getPipeline().getSpillFile()));
+    }
+
+    @Test
+    void testOverflowIsSpilledByWorkerNotCaller() throws Exception {
+        properties.getPipeline().setQueueCapacity(1);
+        newPublisher();
+        AuditEvent queued = AuditEvent.of(AuditAction.CREATE, "user-1", 0L);
+        AuditEvent overflowed = AuditEvent.of(AuditAction.CREATE, "user-2", 0L);
+
+        publisher.publish(queued);
+        publisher.publish(overflowed);
+        publisher.publish(AuditEvent.of(AuditAction.CREATE, "user-3", 0L));
+
+        assertFalse(Files.exists(properties.getPipeline().getSpillFile()));
+        assertEquals(1, count("dropped"));
+
+        publisher.start();
+
+        await(() -> count("delivered") == 1 && count("replayed") == 1);
+        assertEquals(1, count("spilled"));
+        assertEquals(Set.of(queued.getId(), overflowed.getId()), receivedIds);
+    }
+
+    @Test
+    void testStopSpillsQueuedEvents() throws Exception {
+        newPublisher();
+        publisher.publish(AuditEvent.of(AuditAction.PATCH, "user-1", 3L));
+
+        publisher.stop();
+
+        assertEquals(1, Files.readAllLines(properties.getPipeline().getSpillFile()).size());
+        assertEquals(0, registry.get(AuditPublisher.QUEUE_SIZE).gauge().value());
+    }
+
+    @Test
+    void testDisabledPipelineIgnoresEvents() {
+        properties.getPipeline().setEnabled(false);
+        newPublisher().start();
+
+        publisher.publish(AuditEvent.of(AuditAction.CREATE, "user-1", 0L));
+
+        assertFalse(publisher.isRunning());
+        assertEquals(0, registry.get(AuditPublisher.QUEUE_SIZE).gauge().value());
+        assertFalse(Files.exists(properties.getPipeline().getSpillFile()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.sid.app.cache;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String id = new ObjectId().toHexString();
+            ids.add(id);
+            filter.put(id);
+        }
+
+        ids.forEach(id -> assertTrue(filter.mightContain(id), id));
+    }
+
+    @Test
+    void testFalsePositiveRateNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("missing" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        double observed = falsePositives / 100_000.0;
+        assertTrue(observed < 0.02, "observed fpp " + observed);
+        assertEquals(0.01, filter.expectedFpp(), 0.005);
+        assertEquals(7, filter.hashFunctions());
+    }
+
+    @Test
+    void testRejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1.0));
+    }
+}
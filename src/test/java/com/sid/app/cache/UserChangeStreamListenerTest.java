@@ -0,0 +1,163 @@
+package com.sid.app.cache;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserChangeStreamListenerTest {
+
+    private MongoTemplate mongoTemplate;
+    private UserProperties userProperties;
+    private UserCache userCache;
+    private UserExistenceFilter existenceFilter;
+    private UserChangeStreamListener listener;
+    private ObjectId id;
+
+    @BeforeEach
+    void setUp() {
+        userProperties = new UserProperties();
+        userProperties.getExistenceFilter().setEnabled(true);
+        userProperties.getExistenceFilter().setExpectedUsers(1000);
+        userCache = new UserCache(userProperties, new SimpleMeterRegistry());
+        mongoTemplate = Mockito.mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("users"))).thenReturn(Stream.empty());
+        existenceFilter = new UserExistenceFilter(mongoTemplate, userProperties, new SimpleMeterRegistry());
+        existenceFilter.rebuild();
+        listener = new UserChangeStreamListener(mongoTemplate, userCache, existenceFilter, userProperties);
+
+        id = new ObjectId();
+        userCache.put(User.builder().id(id.toHexString()).name("John Doe").email("john@example.com").role("USER").build());
+    }
+
+    @Test
+    void testUpdateEvictsCachedUser() {
+        assertTrue(listener.apply(OperationType.UPDATE, new BsonDocument("_id", new BsonObjectId(id))));
+
+        assertNull(userCache.getById(id.toHexString()));
+        assertNull(userCache.getByEmail("john@example.com"));
+    }
+
+    @Test
+    void testDeleteOfOtherUserKeepsCachedUser() {
+        assertTrue(listener.apply(OperationType.DELETE, new BsonDocument("_id", new BsonObjectId(new ObjectId()))));
+
+        assertNotNull(userCache.getById(id.toHexString()));
+    }
+
+    @Test
+    void testDropClearsCacheAndRestartsStream() {
+        assertFalse(listener.apply(OperationType.DROP, null));
+
+        assertNull(userCache.getById(id.toHexString()));
+    }
+
+    @Test
+    void testInsertOnAnotherReplicaIsAddedToExistenceFilter() {
+        String otherId = new ObjectId().toHexString();
+        assertFalse(existenceFilter.mightContainId(id.toHexString()));
+
+        listener.trackExistence(OperationType.INSERT, new BsonDocument("_id", new BsonObjectId(id)),
+                new Document("_id", id).append("email", "john@example.com"), null);
+
+        assertTrue(existenceFilter.mightContainId(id.toHexString()));
+        assertTrue(existenceFilter.mightContainEmail("john@example.com"));
+        assertFalse(existenceFilter.mightContainId(otherId));
+    }
+
+    @Test
+    void testFilterFallsThroughFromInvalidateUntilStreamCatchesUp() {
+        String missing = mintedAnHourAgo();
+        existenceFilter.streamSyncedThrough(Instant.now());
+        assertFalse(existenceFilter.mightContainId(missing));
+
+        assertFalse(listener.apply(OperationType.INVALIDATE, null));
+
+        assertTrue(existenceFilter.mightContainId(missing));
+        assertTrue(existenceFilter.mightContainEmail("missing@example.com"));
+        existenceFilter.streamSyncedThrough(Instant.now());
+        assertFalse(existenceFilter.mightContainId(missing));
+        assertFalse(existenceFilter.mightContainEmail("missing@example.com"));
+    }
+
+    @Test
+    void testFilterFallsThroughWhileStreamIsBehind() {
+        existenceFilter.streamSyncedThrough(Instant.now().minus(Duration.ofMinutes(1)));
+
+        assertTrue(existenceFilter.mightContainId(mintedAnHourAgo()));
+        assertFalse(existenceFilter.isReady());
+    }
+
+    @Test
+    void testRecentlyMintedIdIsLookedUpBeforeItsInsertArrives() {
+        existenceFilter.streamSyncedThrough(Instant.now());
+
+        // created on another replica a moment ago; its change event has not been applied here yet
+        assertTrue(existenceFilter.mightContainId(new ObjectId().toHexString()));
+        assertFalse(existenceFilter.mightContainId(mintedAnHourAgo()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamOpenedWithoutResumeTokenRebuildsFilter() {
+        String insertedDuringGap = mintedAnHourAgo();
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(Stream.of(new Document("_id", new ObjectId(insertedDuringGap)).append("email", "gap@example.com")));
+        MongoCollection<Document> collection = Mockito.mock(MongoCollection.class);
+        ChangeStreamIterable<Document> stream = Mockito.mock(ChangeStreamIterable.class);
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = Mockito.mock(MongoChangeStreamCursor.class);
+        when(mongoTemplate.getCollection("users")).thenReturn(collection);
+        when(collection.watch()).thenReturn(stream);
+        when(stream.maxAwaitTime(anyLong(), any(TimeUnit.class))).thenReturn(stream);
+        when(stream.cursor()).thenReturn(cursor);
+        when(cursor.tryNext()).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return null;
+        });
+        userProperties.getChangeStream().setRetryBackoff(Duration.ofMillis(50));
+
+        listener.start();
+        try {
+            verify(cursor, timeout(5000).atLeast(2)).tryNext();
+
+            assertTrue(existenceFilter.isReady());
+            assertTrue(existenceFilter.mightContainId(insertedDuringGap));
+            assertTrue(existenceFilter.mightContainEmail("gap@example.com"));
+        } finally {
+            listener.stop();
+        }
+        assertFalse(existenceFilter.isReady());
+    }
+
+    private static String mintedAnHourAgo() {
+        return new ObjectId(Date.from(Instant.now().minus(Duration.ofHours(1)))).toHexString();
+    }
+}
@@ -0,0 +1,45 @@
+package com.sid.app.config;
+
+import com.sid.app.constant.AppConstants;
+import com.sid.app.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFormatsConfigTest {
+
+    private final WebApplicationContextRunner runner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class, WebMvcAutoConfiguration.class))
+            .withUserConfiguration(JacksonConfig.class, BinaryFormatsConfig.Servlet.class);
+
+    @Test
+    void testBinaryConvertersUseTheApplicationMapper() {
+        runner.run(context -> {
+            List<HttpMessageConverter<?>> converters = context.getBean(RequestMappingHandlerAdapter.class)
+                    .getMessageConverters();
+
+            for (MediaType type : List.of(MediaType.APPLICATION_CBOR, MediaType.parseMediaType(AppConstants.APPLICATION_SMILE_VALUE))) {
+                HttpMessageConverter<?> chosen = converters.stream()
+                        .filter(converter -> converter.canWrite(User.class, type))
+                        .findFirst()
+                        .orElseThrow();
+                assertInstanceOf(AbstractJackson2HttpMessageConverter.class, chosen, type.toString());
+                assertTrue(((AbstractJackson2HttpMessageConverter) chosen).getObjectMapper().getRegisteredModuleIds()
+                        .stream().anyMatch(id -> String.valueOf(id).contains("BlackbirdModule")), type.toString());
+                assertEquals(1, converters.stream().filter(converter -> converter.getClass() == chosen.getClass()).count());
+            }
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.sid.app.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sid.app.entity.User;
+import com.sid.app.model.ApiResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JacksonConfigTest {
+
+    @Test
+    void testTunedMapperKeepsResponseShape() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().jsonSerializationTuning().customize(builder);
+        ObjectMapper mapper = builder.build();
+
+        User user = User.builder().id("u1").name("Alice").email("alice@example.com").role("USER")
+                .createdAt(Instant.parse("2024-01-02T03:04:05.678Z"))
+                .emailDomain("example.com")
+                .version(2L)
+                .build();
+        JsonNode json = mapper.readTree(mapper.writeValueAsBytes(
+                ApiResponse.<User>builder().statusCode(200).status("SUCCESS").message("ok").data(user).build()));
+
+        assertEquals(200, json.get("statusCode").asInt());
+        assertEquals("2024-01-02T03:04:05.678Z", json.at("/data/createdAt").asText());
+        assertTrue(json.at("/data/updatedAt").isNull());
+        assertFalse(json.get("data").has("emailDomain"));
+        assertEquals(2, json.at("/data/version").asLong());
+
+        User read = mapper.readValue(mapper.writeValueAsBytes(user), User.class);
+        assertEquals(user.getCreatedAt(), read.getCreatedAt());
+    }
+
+    @Test
+    void testBootMapperKeepsItsModulesAndAddsBlackbird() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+                .withUserConfiguration(JacksonConfig.class)
+                .run(context -> {
+                    List<String> modules = context.getBean(ObjectMapper.class).getRegisteredModuleIds().stream()
+                            .map(String::valueOf)
+                            .toList();
+
+                    for (String expected : List.of("jsr310", "JsonComponentModule", "JsonMixinModule", "BlackbirdModule")) {
+                        assertTrue(modules.stream().anyMatch(id -> id.contains(expected)), expected + " in " + modules);
+                    }
+                });
+    }
+}
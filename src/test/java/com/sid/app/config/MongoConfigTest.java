@@ -0,0 +1,64 @@
+package com.sid.app.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoConfigTest {
+
+    @Test
+    void testCustomizer_AppliesPoolTimeoutsAndCompression() {
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.getPool().setMinSize(2);
+        properties.getPool().setMaxSize(20);
+        properties.getPool().setMaxWaitTime(Duration.ofMillis(1500));
+        properties.setCompressors(List.of("zstd", "snappy"));
+        MongoPoolMetricsListener listener = new MongoPoolMetricsListener(new SimpleMeterRegistry());
+
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        new MongoConfig().mongoClientTuning(properties, listener).customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        assertEquals(2, settings.getConnectionPoolSettings().getMinSize());
+        assertEquals(20, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(1500, settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertTrue(settings.getConnectionPoolSettings().getConnectionPoolListeners().contains(listener));
+        assertEquals(5000, settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(List.of("zstd", "snappy"),
+                settings.getCompressorList().stream().map(MongoCompressor::getName).toList());
+    }
+
+    @Test
+    void testCompressor_RejectsUnknownName() {
+        assertThrows(IllegalArgumentException.class, () -> MongoConfig.compressor("lz4"));
+    }
+
+    @Test
+    void testPoolListener_RecordsCheckoutWaitByOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MongoPoolMetricsListener listener = new MongoPoolMetricsListener(registry);
+        ServerId serverId = new ServerId(new ClusterId(), new ServerAddress("localhost", 27017));
+
+        listener.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(serverId), 1L, 3_000_000L));
+        listener.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(serverId, 2L,
+                ConnectionCheckOutFailedEvent.Reason.TIMEOUT, 5_000_000L));
+
+        assertEquals(3.0, registry.get(MongoPoolMetricsListener.CHECKOUT_WAIT).tag("outcome", "success")
+                .timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, registry.get(MongoPoolMetricsListener.CHECKOUT_WAIT).tag("outcome", "timeout")
+                .timer().count());
+    }
+}
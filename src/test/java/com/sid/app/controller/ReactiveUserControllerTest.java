@@ -0,0 +1,206 @@
+package com.sid.app.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.sid.app.constant.AppConstants;
+import com.sid.app.entity.User;
+import com.sid.app.exception.PreconditionFailedException;
+import com.sid.app.exception.ResourceNotFoundException;
+import com.sid.app.model.CursorPage;
+import com.sid.app.service.ReactiveUserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveUserController.class)
+@Import(SimpleMeterRegistry.class)
+class ReactiveUserControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveUserService userService;
+
+    private User sampleUser;
+
+    @BeforeEach
+    void setUp() {
+        sampleUser = User.builder()
+                .id("123")
+                .name("John Doe")
+                .email("john@example.com")
+                .role("USER")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .version(3L)
+                .build();
+    }
+
+    @Test
+    void testAllUsers_Success() {
+        CursorPage<User> page = CursorPage.<User>builder()
+                .items(List.of(sampleUser))
+                .size(1)
+                .nextCursor("next")
+                .build();
+        when(userService.findPage("abc", 1)).thenReturn(Mono.just(page));
+
+        webTestClient.get().uri(AppConstants.USERS_API + "?cursor=abc&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(AppConstants.STATUS_SUCCESS)
+                .jsonPath("$.data.items[0].email").isEqualTo("john@example.com")
+                .jsonPath("$.data.nextCursor").isEqualTo("next");
+    }
+
+    @Test
+    void testAllUsers_InvalidCursor() {
+        when(userService.findPage("bad", null)).thenReturn(Mono.error(new IllegalArgumentException("Invalid cursor: bad")));
+
+        webTestClient.get().uri(AppConstants.USERS_API + "?cursor=bad")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid cursor: bad");
+    }
+
+    @Test
+    void testStreamUsers_WrapsFluxInEnvelope() {
+        User second = User.builder().id("124").email("jane@example.com").build();
+        when(userService.streamAll(null, null)).thenReturn(Flux.just(sampleUser, second));
+
+        webTestClient.get().uri(AppConstants.USERS_API + AppConstants.USERS_STREAM_PATH)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(AppConstants.STATUS_SUCCESS)
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[1].email").isEqualTo("jane@example.com");
+    }
+
+    @Test
+    void testExportUsers_Ndjson() {
+        when(userService.streamAll("100", null)).thenReturn(Flux.just(sampleUser));
+
+        webTestClient.get().uri(AppConstants.USERS_API + AppConstants.USERS_EXPORT_PATH + "?after=100")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(User.class).hasSize(1);
+    }
+
+    @Test
+    void testGetUserById_NotModified() {
+        when(userService.findVersion("123")).thenReturn(Mono.just(3L));
+        when(userService.findById("123")).thenReturn(Mono.just(sampleUser));
+
+        webTestClient.get().uri(AppConstants.USERS_API + "/123")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"");
+    }
+
+    @Test
+    void testGetUserById_DefaultsToJson() {
+        when(userService.findById("123")).thenReturn(Mono.just(sampleUser));
+
+        webTestClient.get().uri(AppConstants.USERS_API + "/123")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void testGetUserById_Cbor() throws IOException {
+        when(userService.findById("123")).thenReturn(Mono.just(sampleUser));
+
+        byte[] body = webTestClient.get().uri(AppConstants.USERS_API + "/123")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3-cbor\"")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        JsonNode user = new CBORMapper().readTree(body);
+        assertEquals("john@example.com", user.at("/data/email").asText());
+    }
+
+    @Test
+    void testGetUserById_NotFound() {
+        when(userService.findById("999")).thenReturn(Mono.error(new ResourceNotFoundException("User not found: 999")));
+
+        webTestClient.get().uri(AppConstants.USERS_API + "/999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.path").isEqualTo(AppConstants.USERS_API + "/999");
+    }
+
+    @Test
+    void testCreateUser_Success() {
+        when(userService.create(any(User.class))).thenReturn(Mono.just(sampleUser));
+
+        webTestClient.post().uri(AppConstants.USERS_API)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"John Doe\",\"email\":\"john@example.com\",\"role\":\"USER\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo("123");
+    }
+
+    @Test
+    void testUpdateUser_StaleIfMatch() {
+        when(userService.update(eq("123"), any(User.class), eq(2L)))
+                .thenReturn(Mono.error(new PreconditionFailedException("User 123 is no longer at version 2")));
+
+        webTestClient.put().uri(AppConstants.USERS_API + "/123")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"John Doe\",\"email\":\"john@example.com\",\"role\":\"USER\"}")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void testDeleteUser_MalformedIfMatch() {
+        webTestClient.delete().uri(AppConstants.USERS_API + "/123")
+                .header(HttpHeaders.IF_MATCH, "abc")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        verify(userService, never()).delete(any(), any());
+    }
+}
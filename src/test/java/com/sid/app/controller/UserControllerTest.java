@@ -1,39 +1,78 @@
 package com.sid.app.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sid.app.config.BinaryFormatsConfig;
 import com.sid.app.constant.AppConstants;
 import com.sid.app.entity.User;
+import com.sid.app.exception.GlobalExceptionHandler;
+import com.sid.app.exception.PreconditionFailedException;
 import com.sid.app.exception.ResourceNotFoundException;
+import com.sid.app.model.CursorPage;
+import com.sid.app.model.UserFilterRequest;
+import com.sid.app.model.UserMultiGetRequest;
+import com.sid.app.model.UserMultiGetResult;
+import com.sid.app.model.UserPatchRequest;
+import com.sid.app.model.UserTimeRangeRequest;
+import com.sid.app.model.BulkItemResult;
+import com.sid.app.model.BulkResult;
+import com.sid.app.service.UserBulkService;
 import com.sid.app.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import({BinaryFormatsConfig.class, SimpleMeterRegistry.class})
 class UserControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserBulkService userBulkService;
+
     private ObjectMapper objectMapper;
     private User sampleUser;
 
@@ -49,19 +88,184 @@ class UserControllerTest {
                 .role("USER")
                 .createdAt(Instant.now())
                 .updatedAt(Instant.now())
+                .version(3L)
                 .build();
     }
 
     @Test
     void testAllUsers_Success() throws Exception {
-        when(userService.findAll()).thenReturn(List.of(sampleUser));
+        CursorPage<User> page = CursorPage.<User>builder()
+                .items(List.of(sampleUser))
+                .size(1)
+                .nextCursor("next")
+                .build();
+        when(userService.findPage("abc", 1)).thenReturn(page);
+
+        mockMvc.perform(get(AppConstants.USERS_API).param("cursor", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(AppConstants.STATUS_SUCCESS))
+                .andExpect(jsonPath("$.data.items[0].email").value("john@example.com"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"));
+    }
+
+    @Test
+    void testAllUsers_WithFields() throws Exception {
+        CursorPage<Map<String, Object>> page = CursorPage.<Map<String, Object>>builder()
+                .items(List.of(Map.of("id", "123", "email", "john@example.com")))
+                .size(1)
+                .build();
+        when(userService.findPage(null, null, "id,email")).thenReturn(page);
+
+        mockMvc.perform(get(AppConstants.USERS_API).param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].email").value("john@example.com"))
+                .andExpect(jsonPath("$.data.items[0].name").doesNotExist());
+        verify(userService, never()).findPage(any(), any());
+    }
+
+    @Test
+    void testAllUsers_InvalidCursor() throws Exception {
+        when(userService.findPage("bad", null)).thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        mockMvc.perform(get(AppConstants.USERS_API).param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: bad"));
+    }
+
+    @Test
+    void testSearchUsers_Success() throws Exception {
+        CursorPage<User> page = CursorPage.<User>builder().items(List.of(sampleUser)).size(1).build();
+        when(userService.search("jo", "example.com", null, 10)).thenReturn(page);
+
+        mockMvc.perform(get(AppConstants.USERS_API + AppConstants.USERS_SEARCH_PATH)
+                        .param("name", "jo")
+                        .param("domain", "example.com")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].id").value("123"))
+                .andExpect(jsonPath("$.data.items[0].emailDomain").doesNotExist());
+    }
+
+    @Test
+    void testFilterUsers_Success() throws Exception {
+        CursorPage<Map<String, Object>> page = CursorPage.<Map<String, Object>>builder()
+                .items(List.of(Map.of("id", "123", "name", "John Doe")))
+                .size(1)
+                .build();
+        when(userService.filter(any(UserFilterRequest.class))).thenAnswer(invocation -> {
+            UserFilterRequest request = invocation.getArgument(0);
+            assertEquals("ADMIN", request.getRole());
+            assertEquals(Instant.parse("2024-01-01T00:00:00Z"), request.getCreatedAfter());
+            assertEquals("id,name", request.getFields());
+            return page;
+        });
+
+        mockMvc.perform(get(AppConstants.USERS_API + AppConstants.USERS_FILTER_PATH)
+                        .param("role", "ADMIN")
+                        .param("createdAfter", "2024-01-01T00:00:00Z")
+                        .param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.data.items[0].email").doesNotExist());
+    }
+
+    @Test
+    void testUserChanges_Success() throws Exception {
+        CursorPage<Map<String, Object>> page = CursorPage.<Map<String, Object>>builder()
+                .items(List.of(Map.of("id", "123", "updatedAt", "2024-01-02T00:00:00.000Z")))
+                .size(1)
+                .nextCursor("next")
+                .build();
+        when(userService.findInTimeRange(any(UserTimeRangeRequest.class))).thenAnswer(invocation -> {
+            UserTimeRangeRequest request = invocation.getArgument(0);
+            assertEquals("updatedAt", request.getField());
+            assertEquals(Instant.parse("2024-01-01T00:00:00Z"), request.getSince());
+            return page;
+        });
 
-        mockMvc.perform(get(AppConstants.USERS_API))
+        mockMvc.perform(get(AppConstants.USERS_API + AppConstants.USERS_CHANGES_PATH)
+                        .param("field", "updatedAt")
+                        .param("since", "2024-01-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].id").value("123"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"));
+    }
+
+    @Test
+    void testStreamUsers_Success() throws Exception {
+        when(userService.streamAll(null, null)).thenReturn(Stream.of(sampleUser));
+
+        MvcResult result = mockMvc.perform(get(AppConstants.USERS_API + AppConstants.USERS_STREAM_PATH))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value(AppConstants.STATUS_SUCCESS))
                 .andExpect(jsonPath("$.data[0].email").value("john@example.com"));
     }
 
+    @Test
+    void testExportUsers_Ndjson() throws Exception {
+        User second = User.builder().id("456").name("Jane Doe").email("jane@example.com").role("USER").build();
+        when(userService.streamAll("100", 2)).thenReturn(Stream.of(sampleUser, second));
+
+        MvcResult result = mockMvc.perform(get(AppConstants.USERS_API + AppConstants.USERS_EXPORT_PATH)
+                        .param("after", "100")
+                        .param("batchSize", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("123", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("456", objectMapper.readTree(lines[1]).get("id").asText());
+    }
+
+    @Test
+    void testExportUsers_Gzip() throws Exception {
+        when(userService.streamAll(null, null)).thenReturn(Stream.of(sampleUser));
+
+        MvcResult result = mockMvc.perform(get(AppConstants.USERS_API + AppConstants.USERS_EXPORT_PATH)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals("john@example.com", objectMapper.readTree(body.trim()).get("email").asText());
+        }
+    }
+
+    @Test
+    void testExportUsers_GzipWithZeroQualityIsNotApplied() throws Exception {
+        when(userService.streamAll(null, null)).thenReturn(Stream.of(sampleUser));
+
+        MvcResult result = mockMvc.perform(get(AppConstants.USERS_API + AppConstants.USERS_EXPORT_PATH)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("john@example.com", objectMapper.readTree(body.trim()).get("email").asText());
+    }
+
     @Test
     void testGetById_Success() throws Exception {
         when(userService.findById("123")).thenReturn(sampleUser);
@@ -72,13 +276,143 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.data.name").value("John Doe"));
     }
 
+    @Test
+    void testGetById_WithFields() throws Exception {
+        when(userService.findById("123", "name")).thenReturn(Map.of("name", "John Doe"));
+
+        mockMvc.perform(get(AppConstants.USERS_API + "/123").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.data.name").value("John Doe"))
+                .andExpect(jsonPath("$.data.id").doesNotExist());
+    }
+
+    @Test
+    void testGetById_UnknownField() throws Exception {
+        when(userService.findById("123", "password"))
+                .thenThrow(new IllegalArgumentException("Unknown field 'password'"));
+
+        mockMvc.perform(get(AppConstants.USERS_API + "/123").param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetById_DefaultsToJson() throws Exception {
+        when(userService.findById("123")).thenReturn(sampleUser);
+
+        mockMvc.perform(get(AppConstants.USERS_API + "/123").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testGetById_Cbor() throws Exception {
+        when(userService.findById("123")).thenReturn(sampleUser);
+
+        MvcResult result = mockMvc.perform(get(AppConstants.USERS_API + "/123").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-cbor\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn();
+
+        JsonNode body = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("john@example.com", body.at("/data/email").asText());
+        assertEquals(AppConstants.STATUS_SUCCESS, body.get("status").asText());
+    }
+
+    @Test
+    void testAllUsers_Smile() throws Exception {
+        when(userService.findPage(null, null)).thenReturn(CursorPage.<User>builder()
+                .items(List.of(sampleUser))
+                .size(1)
+                .build());
+
+        MvcResult result = mockMvc.perform(get(AppConstants.USERS_API).accept(AppConstants.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(AppConstants.APPLICATION_SMILE_VALUE))
+                .andReturn();
+
+        JsonNode body = new SmileMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("123", body.at("/data/items/0/id").asText());
+    }
+
+    @Test
+    void testGetById_ReturnsETag() throws Exception {
+        when(userService.findById("123")).thenReturn(sampleUser);
+
+        mockMvc.perform(get(AppConstants.USERS_API + "/123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void testGetById_JsonETagDoesNotValidateSmile() throws Exception {
+        when(userService.findVersion("123")).thenReturn(3L);
+        when(userService.findById("123")).thenReturn(sampleUser);
+
+        mockMvc.perform(get(AppConstants.USERS_API + "/123")
+                        .accept(AppConstants.APPLICATION_SMILE_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-smile\""));
+
+        mockMvc.perform(get(AppConstants.USERS_API + "/123")
+                        .accept(AppConstants.APPLICATION_SMILE_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3-smile\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-smile\""));
+    }
+
+    @Test
+    void testGetById_NotModified() throws Exception {
+        when(userService.findVersion("123")).thenReturn(3L);
+
+        mockMvc.perform(get(AppConstants.USERS_API + "/123").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(userService, never()).findById(any());
+    }
+
+    @Test
+    void testGetById_StaleIfNoneMatch() throws Exception {
+        when(userService.findVersion("123")).thenReturn(3L);
+        when(userService.findById("123")).thenReturn(sampleUser);
+
+        mockMvc.perform(get(AppConstants.USERS_API + "/123").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.version").value(3));
+    }
+
+    @Test
+    void testGetByEmail_Success() throws Exception {
+        when(userService.findByEmail("john@example.com")).thenReturn(sampleUser);
+
+        mockMvc.perform(get(AppConstants.USERS_API + AppConstants.USERS_BY_EMAIL_PATH).param("email", "john@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value("123"));
+    }
+
     @Test
     void testGetById_NotFound() throws Exception {
         when(userService.findById("404")).thenThrow(new ResourceNotFoundException("User not found"));
+        double before = notFoundCount(AppConstants.USERS_API + "/{id}");
 
         mockMvc.perform(get(AppConstants.USERS_API + "/404"))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("User not found"));
+        assertEquals(before + 1, notFoundCount(AppConstants.USERS_API + "/{id}"));
+    }
+
+    private double notFoundCount(String endpoint) {
+        Counter counter = meterRegistry.find(GlobalExceptionHandler.NOT_FOUND)
+                .tag("method", "GET")
+                .tag("endpoint", endpoint)
+                .counter();
+        return counter == null ? 0 : counter.count();
     }
 
     @Test
@@ -107,9 +441,76 @@ class UserControllerTest {
     }
 
 
+    @Test
+    void testBulkUsers_JsonArray() throws Exception {
+        BulkResult bulkResult = BulkResult.builder()
+                .received(1)
+                .succeeded(1)
+                .items(List.of(BulkItemResult.builder().index(0).id("123").status(BulkItemResult.Status.CREATED).build()))
+                .build();
+        when(userBulkService.bulkUpsert(any(), eq(true))).thenAnswer(invocation -> {
+            Iterator<User> users = invocation.getArgument(0);
+            assertEquals("john@example.com", users.next().getEmail());
+            assertFalse(users.hasNext());
+            return bulkResult;
+        });
+
+        mockMvc.perform(post(AppConstants.USERS_API + AppConstants.USERS_BULK_PATH)
+                        .param("ordered", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(sampleUser))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value(AppConstants.MSG_USERS_BULK_PROCESSED))
+                .andExpect(jsonPath("$.data.items[0].status").value("CREATED"));
+    }
+
+    @Test
+    void testMultiGetUsers() throws Exception {
+        when(userService.findByIds(List.of("123", "999"))).thenReturn(
+                UserMultiGetResult.builder().users(List.of(sampleUser)).missing(List.of("999")).build());
+
+        mockMvc.perform(post(AppConstants.USERS_API + AppConstants.USERS_MGET_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UserMultiGetRequest.builder().ids(List.of("123", "999")).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value(AppConstants.MSG_USERS_FETCHED))
+                .andExpect(jsonPath("$.data.users[0].id").value("123"))
+                .andExpect(jsonPath("$.data.missing[0]").value("999"));
+    }
+
+    @Test
+    void testMultiGetUsers_EmptyIds() throws Exception {
+        mockMvc.perform(post(AppConstants.USERS_API + AppConstants.USERS_MGET_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).findByIds(any());
+    }
+
+    @Test
+    void testBulkUsers_Ndjson() throws Exception {
+        when(userBulkService.bulkUpsert(any(), eq(null))).thenAnswer(invocation -> {
+            Iterator<User> users = invocation.getArgument(0);
+            int count = 0;
+            while (users.hasNext()) {
+                users.next();
+                count++;
+            }
+            return BulkResult.builder().received(count).succeeded(count).items(List.of()).build();
+        });
+
+        String body = objectMapper.writeValueAsString(sampleUser) + "\n" + objectMapper.writeValueAsString(sampleUser) + "\n";
+        mockMvc.perform(post(AppConstants.USERS_API + AppConstants.USERS_BULK_PATH)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.received").value(2));
+    }
+
     @Test
     void testUpdateUser_Success() throws Exception {
-        when(userService.update(eq("123"), any(User.class))).thenReturn(sampleUser);
+        when(userService.update(eq("123"), any(User.class), any())).thenReturn(sampleUser);
 
         mockMvc.perform(put(AppConstants.USERS_API + "/123")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -118,9 +519,34 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.message").value(AppConstants.MSG_USER_UPDATED));
     }
 
+    @Test
+    void testUpdateUser_IfMatch() throws Exception {
+        when(userService.update(eq("123"), any(User.class), eq(2L))).thenReturn(sampleUser);
+
+        mockMvc.perform(put(AppConstants.USERS_API + "/123")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleUser)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void testUpdateUser_PreconditionFailed() throws Exception {
+        when(userService.update(eq("123"), any(User.class), eq(1L)))
+                .thenThrow(new PreconditionFailedException("User 123 is no longer at version 1"));
+
+        mockMvc.perform(put(AppConstants.USERS_API + "/123")
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleUser)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
     @Test
     void testUpdateUser_NotFound() throws Exception {
-        when(userService.update(eq("404"), any(User.class)))
+        when(userService.update(eq("404"), any(User.class), any()))
                 .thenThrow(new ResourceNotFoundException("User not found"));
 
         mockMvc.perform(put(AppConstants.USERS_API + "/404")
@@ -130,18 +556,57 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.message").value("User not found"));
     }
 
+    @Test
+    void testPatchUser_Success() throws Exception {
+        when(userService.patch(eq("123"), any(UserPatchRequest.class), any())).thenReturn(sampleUser);
+
+        mockMvc.perform(patch(AppConstants.USERS_API + "/123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SUSPENDED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value(AppConstants.MSG_USER_UPDATED));
+    }
+
+    @Test
+    void testPatchUser_InvalidInput() throws Exception {
+        mockMvc.perform(patch(AppConstants.USERS_API + "/123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"invalid\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testPatchUser_NotFound() throws Exception {
+        when(userService.patch(eq("404"), any(UserPatchRequest.class), any()))
+                .thenThrow(new ResourceNotFoundException("User not found"));
+
+        mockMvc.perform(patch(AppConstants.USERS_API + "/404")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SUSPENDED\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("User not found"));
+    }
+
     @Test
     void testDeleteUser_Success() throws Exception {
-        doNothing().when(userService).delete("123");
+        doNothing().when(userService).delete("123", null);
 
         mockMvc.perform(delete(AppConstants.USERS_API + "/123"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value(AppConstants.MSG_USER_DELETED));
     }
 
+    @Test
+    void testDeleteUser_MalformedIfMatch() throws Exception {
+        mockMvc.perform(delete(AppConstants.USERS_API + "/123").header(HttpHeaders.IF_MATCH, "W/\"3\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(userService, never()).delete(any(), any());
+    }
+
     @Test
     void testDeleteUser_NotFound() throws Exception {
-        Mockito.doThrow(new ResourceNotFoundException("User not found")).when(userService).delete("404");
+        Mockito.doThrow(new ResourceNotFoundException("User not found")).when(userService).delete("404", null);
 
         mockMvc.perform(delete(AppConstants.USERS_API + "/404"))
                 .andExpect(status().isNotFound())
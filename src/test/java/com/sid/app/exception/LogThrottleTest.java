@@ -0,0 +1,37 @@
+package com.sid.app.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogThrottleTest {
+
+    @Test
+    void testLetsLimitThroughPerWindowAndCountsTheRest() throws Exception {
+        LogThrottle throttle = new LogThrottle(2, Duration.ofMillis(50));
+
+        assertEquals(0, throttle.acquire());
+        assertEquals(0, throttle.acquire());
+        assertEquals(-1, throttle.acquire());
+        assertEquals(-1, throttle.acquire());
+
+        Thread.sleep(60);
+
+        assertEquals(2, throttle.acquire());
+        assertEquals(0, throttle.acquire());
+    }
+
+    @Test
+    void testSuppressedNote() {
+        assertEquals("", LogThrottle.suppressedNote(0));
+        assertEquals(" (3 similar suppressed)", LogThrottle.suppressedNote(3));
+    }
+
+    @Test
+    void testClientErrorExceptionsCarryNoStackTrace() {
+        assertEquals(0, new ResourceNotFoundException("User not found: 1").getStackTrace().length);
+        assertEquals(0, new InvalidRequestException("Invalid cursor: x").getStackTrace().length);
+    }
+}
@@ -0,0 +1,160 @@
+package com.sid.app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncBatchingAppenderTest {
+
+    private LoggerContext context;
+    private AsyncBatchingAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        appender = new AsyncBatchingAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+    }
+
+    @AfterEach
+    void tearDown() {
+        appender.stop();
+    }
+
+    private ILoggingEvent event(Level level, String message) {
+        return new LoggingEvent(AsyncBatchingAppenderTest.class.getName(), context.getLogger("com.sid.app.service.UserService"),
+                level, message, null, null);
+    }
+
+    private ListAppender<ILoggingEvent> listAppender() {
+        ListAppender<ILoggingEvent> list = new ListAppender<>();
+        list.setContext(context);
+        list.start();
+        appender.addAppender(list);
+        return list;
+    }
+
+    /**
+     * Holds the worker inside the first event it writes until released, so the queue can be filled deterministically.
+     */
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private BlockingAppender blockWorker() throws InterruptedException {
+        BlockingAppender blocking = new BlockingAppender();
+        blocking.setContext(context);
+        blocking.start();
+        appender.addAppender(blocking);
+        appender.start();
+        appender.doAppend(event(Level.WARN, "first"));
+        assertTrue(blocking.entered.await(5, TimeUnit.SECONDS));
+        return blocking;
+    }
+
+    @Test
+    void testWritesEveryEventInOrderOnStop() {
+        ListAppender<ILoggingEvent> list = listAppender();
+        appender.setBatchSize(8);
+        appender.start();
+
+        for (int i = 0; i < 100; i++) {
+            appender.doAppend(event(Level.INFO, "event " + i));
+        }
+        appender.stop();
+
+        List<String> messages = list.list.stream().map(ILoggingEvent::getMessage).toList();
+        assertEquals(100, messages.size());
+        assertEquals("event 0", messages.get(0));
+        assertEquals("event 99", messages.get(99));
+        assertEquals(0, appender.getDroppedFullCount());
+    }
+
+    @Test
+    void testDropsWhenFullWithoutBlockingTheCaller() throws Exception {
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(0);
+        BlockingAppender blocking = blockWorker();
+
+        for (int i = 0; i < 7; i++) {
+            appender.doAppend(event(Level.ERROR, "event " + i));
+        }
+
+        assertEquals(4, appender.getQueuedCount());
+        assertEquals(3, appender.getDroppedFullCount());
+        blocking.release.countDown();
+    }
+
+    @Test
+    void testDropsInfoBelowThresholdButKeepsWarnings() throws Exception {
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(2);
+        BlockingAppender blocking = blockWorker();
+
+        appender.doAppend(event(Level.INFO, "info 1"));
+        appender.doAppend(event(Level.INFO, "info 2"));
+        appender.doAppend(event(Level.INFO, "info 3"));
+        appender.doAppend(event(Level.INFO, "info 4"));
+        appender.doAppend(event(Level.WARN, "warn"));
+
+        assertEquals(4, appender.getQueuedCount());
+        assertEquals(1, appender.getDroppedThresholdCount());
+        assertEquals(0, appender.getDroppedFullCount());
+        blocking.release.countDown();
+    }
+
+    @Test
+    void testStartsOnContextWithoutMdcAdapter() {
+        context = new LoggerContext();
+        appender = new AsyncBatchingAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        ListAppender<ILoggingEvent> list = listAppender();
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, "queued"));
+        appender.stop();
+
+        assertEquals(1, list.list.size());
+        assertEquals("queued", list.list.get(0).getMessage());
+    }
+
+    @Test
+    void testSynchronousModeWritesOnCallerThread() {
+        ListAppender<ILoggingEvent> list = listAppender();
+        appender.setAsync(false);
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, "now"));
+
+        assertEquals(1, list.list.size());
+        assertEquals(0, appender.getQueuedCount());
+    }
+}
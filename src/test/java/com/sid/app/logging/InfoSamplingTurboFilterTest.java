@@ -0,0 +1,51 @@
+package com.sid.app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InfoSamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger service = context.getLogger("com.sid.app.service.UserService");
+    private InfoSamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new InfoSamplingTurboFilter();
+        filter.setLoggers("com.sid.app.controller, com.sid.app.service");
+        filter.setRate(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testSamplesInfoFromListedLoggers() {
+        assertEquals(FilterReply.DENY, filter.decide(null, service, Level.INFO, "Searching user by id={}", new Object[]{"1"}, null));
+        assertEquals(1, filter.getSampledOutCount());
+    }
+
+    @Test
+    void testNeverSamplesWarningsExceptionsOrOtherLoggers() {
+        Logger other = context.getLogger("com.sid.app.services.Other");
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, service, Level.WARN, "slow", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, service, Level.INFO, "failed", null, new IllegalStateException()));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, other, Level.INFO, "other", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, service, Level.INFO, null, null, null));
+        assertEquals(0, filter.getSampledOutCount());
+    }
+
+    @Test
+    void testRateOfOneKeepsEverything() {
+        filter.setRate(1);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, service, Level.INFO, "line", null, null));
+        }
+        assertEquals(0, filter.getSampledOutCount());
+    }
+}
@@ -0,0 +1,78 @@
+package com.sid.app.service;
+
+import com.sid.app.config.UserProperties;
+import com.sid.app.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoConcurrencyLimiterTest {
+
+    private UserProperties userProperties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userProperties = new UserProperties();
+        userProperties.getConcurrency().setMaxConcurrent(1);
+        userProperties.getConcurrency().setAcquireTimeout(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testCall_ReleasesPermitAfterFailure() {
+        MongoConcurrencyLimiter limiter = new MongoConcurrencyLimiter(userProperties, meterRegistry);
+
+        assertThrows(IllegalStateException.class, () -> limiter.call(() -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("ok", limiter.call(() -> "ok"));
+        assertEquals(0.0, meterRegistry.get("users.mongo.permit.active").gauge().value());
+        assertEquals(2, meterRegistry.get("users.mongo.permit.wait").timer().count());
+    }
+
+    @Test
+    void testCall_RejectsWhenSaturated() throws Exception {
+        MongoConcurrencyLimiter limiter = new MongoConcurrencyLimiter(userProperties, meterRegistry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> limiter.run(() -> {
+            holding.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceBusyException.class, () -> limiter.call(() -> "late"));
+        assertEquals(1.0, meterRegistry.get("users.mongo.permit.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("users.mongo.permit.active").gauge().value());
+
+        release.countDown();
+        holder.join();
+        assertEquals("ok", limiter.call(() -> "ok"));
+    }
+
+    @Test
+    void testCall_DisabledBypassesPermits() {
+        userProperties.getConcurrency().setEnabled(false);
+        userProperties.getConcurrency().setMaxConcurrent(0);
+        MongoConcurrencyLimiter limiter = new MongoConcurrencyLimiter(userProperties, meterRegistry);
+
+        assertEquals("ok", limiter.call(() -> "ok"));
+        assertEquals(0, meterRegistry.get("users.mongo.permit.wait").timer().count());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.sid.app.service;
+
+import com.sid.app.audit.AuditAction;
+import com.sid.app.audit.AuditPublisher;
+import com.sid.app.cache.UserCache;
+import com.sid.app.cache.UserExistenceFilter;
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import com.sid.app.exception.PreconditionFailedException;
+import com.sid.app.exception.ResourceNotFoundException;
+import com.sid.app.model.UserPatchRequest;
+import com.sid.app.repository.ReactiveUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReactiveUserServiceTest {
+
+    private ReactiveUserRepository reactiveUserRepository;
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    private UserCache userCache;
+    private AuditPublisher auditPublisher;
+    private ReactiveUserService userService;
+
+    private User sampleUser;
+
+    @BeforeEach
+    void setUp() {
+        reactiveUserRepository = Mockito.mock(ReactiveUserRepository.class);
+        reactiveMongoTemplate = Mockito.mock(ReactiveMongoTemplate.class);
+        UserProperties userProperties = new UserProperties();
+        userCache = new UserCache(userProperties, new SimpleMeterRegistry());
+        auditPublisher = Mockito.mock(AuditPublisher.class);
+        userService = new ReactiveUserService(reactiveUserRepository, reactiveMongoTemplate, userProperties, userCache,
+                auditPublisher, new UserExistenceFilter(Mockito.mock(MongoTemplate.class), userProperties,
+                new SimpleMeterRegistry()));
+
+        sampleUser = User.builder()
+                .id("123")
+                .name("John Doe")
+                .email("john@example.com")
+                .role("USER")
+                .version(1L)
+                .build();
+    }
+
+    @Test
+    void testFindPage_HasNextCursor() {
+        User second = User.builder().id("124").build();
+        when(reactiveMongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(Flux.just(sampleUser, second));
+
+        StepVerifier.create(userService.findPage(null, 1))
+                .expectNextMatches(page -> page.getSize() == 1 && page.getNextCursor() != null)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindPage_InvalidCursorIsAnErrorSignal() {
+        StepVerifier.create(userService.findPage("%%%", null))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void testFindById_ReadsThroughCache() {
+        when(reactiveUserRepository.findById("123")).thenReturn(Mono.just(sampleUser));
+
+        StepVerifier.create(userService.findById("123")).expectNext(sampleUser).verifyComplete();
+        StepVerifier.create(userService.findById("123")).expectNext(sampleUser).verifyComplete();
+
+        verify(reactiveUserRepository, times(1)).findById("123");
+    }
+
+    @Test
+    void testDelete_LookupRacingTheDeleteIsNotCached() {
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(User.class))).thenReturn(Mono.just(sampleUser));
+        // the read returns the user, but the delete commits and evicts before the read's put
+        when(reactiveUserRepository.findById("123")).thenReturn(Mono.defer(() ->
+                userService.delete("123", null).then(Mono.just(sampleUser))));
+        when(reactiveUserRepository.findByEmail("john@example.com")).thenReturn(Mono.defer(() ->
+                userService.delete("123", null).then(Mono.just(sampleUser))));
+
+        StepVerifier.create(userService.findById("123")).expectNext(sampleUser).verifyComplete();
+        StepVerifier.create(userService.findByEmail("john@example.com")).expectNext(sampleUser).verifyComplete();
+
+        assertNull(userCache.getById("123"));
+        assertNull(userCache.getByEmail("john@example.com"));
+    }
+
+    @Test
+    void testFindById_NotFound() {
+        when(reactiveUserRepository.findById("999")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.findById("999"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void testStreamAll_EmitsCursorDocuments() {
+        when(reactiveMongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(Flux.just(sampleUser));
+
+        StepVerifier.create(userService.streamAll(null, null)).expectNext(sampleUser).verifyComplete();
+    }
+
+    @Test
+    void testPatch_StaleVersion() {
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(Mono.empty());
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(User.class))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(userService.patch("123", UserPatchRequest.builder().name("Jane").build(), 1L))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+        verifyNoInteractions(auditPublisher);
+    }
+
+    @Test
+    void testPatch_PublishesAuditEvent() {
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(Mono.just(sampleUser));
+
+        StepVerifier.create(userService.patch("123", UserPatchRequest.builder().name("Jane").build(), null))
+                .expectNext(sampleUser)
+                .verifyComplete();
+        verify(auditPublisher).publish(argThat(event -> event.getAction() == AuditAction.PATCH
+                && "123".equals(event.getUserId()) && Long.valueOf(1L).equals(event.getVersion())));
+    }
+
+    @Test
+    void testDelete_EvictsCache() {
+        userCache.put(sampleUser);
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(User.class))).thenReturn(Mono.just(sampleUser));
+        when(reactiveUserRepository.findById("123")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.delete("123", null)).verifyComplete();
+        StepVerifier.create(userService.findById("123"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+}
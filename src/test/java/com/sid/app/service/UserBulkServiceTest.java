@@ -0,0 +1,120 @@
+package com.sid.app.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.sid.app.audit.AuditPublisher;
+import com.sid.app.cache.UserCache;
+import com.sid.app.cache.UserExistenceFilter;
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import com.sid.app.model.BulkItemResult;
+import com.sid.app.model.BulkResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.bson.BsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserBulkServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulkOperations;
+    private UserProperties userProperties;
+    private UserBulkService userBulkService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = Mockito.mock(MongoTemplate.class);
+        bulkOperations = Mockito.mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(User.class))).thenReturn(bulkOperations);
+
+        userProperties = new UserProperties();
+        userProperties.getBulk().setBatchSize(2);
+        userBulkService = new UserBulkService(mongoTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator(), userProperties,
+                new UserCache(userProperties, new SimpleMeterRegistry()),
+                new MongoConcurrencyLimiter(userProperties, new SimpleMeterRegistry()),
+                Mockito.mock(AuditPublisher.class),
+                new UserExistenceFilter(mongoTemplate, userProperties, new SimpleMeterRegistry()));
+    }
+
+    private static User user(String id, String email) {
+        return User.builder().id(id).name("John Doe").email(email).role("USER").build();
+    }
+
+    @Test
+    void testBulkUpsert_InsertsAndUpsertsInBatches() {
+        String upsertId = new ObjectId().toHexString();
+        List<User> users = List.of(user(null, "a@example.com"), user(upsertId, "b@example.com"), user(null, "c@example.com"));
+
+        BulkResult result = userBulkService.bulkUpsert(users.iterator(), null);
+
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getSucceeded());
+        assertFalse(result.isAborted());
+        assertEquals(BulkItemResult.Status.CREATED, result.getItems().get(0).getStatus());
+        assertNotNull(result.getItems().get(0).getId());
+        assertEquals(BulkItemResult.Status.UPSERTED, result.getItems().get(1).getStatus());
+        assertEquals(upsertId, result.getItems().get(1).getId());
+        verify(mongoTemplate, times(2)).bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        verify(bulkOperations, times(2)).insert(any(User.class));
+        verify(bulkOperations).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations, times(2)).execute();
+    }
+
+    @Test
+    void testBulkUpsert_ReportsInvalidAndDuplicateWithoutAborting() {
+        BulkOperationException duplicate = Mockito.mock(BulkOperationException.class);
+        when(duplicate.getErrors()).thenReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
+        when(bulkOperations.execute()).thenThrow(duplicate);
+        List<User> users = List.of(user(null, "a@example.com"), user(null, "not-an-email"), user(null, "a@example.com"));
+
+        BulkResult result = userBulkService.bulkUpsert(users.iterator(), false);
+
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+        assertFalse(result.isAborted());
+        assertEquals(BulkItemResult.Status.CREATED, result.getItems().get(0).getStatus());
+        assertEquals(BulkItemResult.Status.INVALID, result.getItems().get(1).getStatus());
+        assertEquals(BulkItemResult.Status.DUPLICATE_KEY, result.getItems().get(2).getStatus());
+    }
+
+    @Test
+    void testBulkUpsert_ReportsIdThatIsNotAnObjectIdAsInvalid() {
+        List<User> users = List.of(user("user-42", "a@example.com"), user(null, "b@example.com"));
+
+        BulkResult result = userBulkService.bulkUpsert(users.iterator(), false);
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(BulkItemResult.Status.INVALID, result.getItems().get(0).getStatus());
+        assertTrue(result.getItems().get(0).getError().startsWith("id: Invalid user id 'user-42'"));
+        assertEquals(BulkItemResult.Status.CREATED, result.getItems().get(1).getStatus());
+    }
+
+    @Test
+    void testBulkUpsert_OrderedStopsAtFirstInvalidRecord() {
+        List<User> users = List.of(user(null, "a@example.com"), user(null, "not-an-email"), user(null, "c@example.com"));
+
+        BulkResult result = userBulkService.bulkUpsert(users.iterator(), true);
+
+        assertTrue(result.isAborted());
+        assertEquals(2, result.getItems().size());
+        assertEquals(BulkItemResult.Status.CREATED, result.getItems().get(0).getStatus());
+        assertEquals(BulkItemResult.Status.INVALID, result.getItems().get(1).getStatus());
+        verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.ORDERED, User.class);
+    }
+}
@@ -0,0 +1,142 @@
+package com.sid.app.service;
+
+import com.sid.app.config.UserProperties;
+import com.sid.app.entity.User;
+import com.sid.app.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserLookupCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private UserProperties userProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private final User user = User.builder().id("123").name("John Doe").email("john@example.com").role("USER").build();
+
+    @BeforeEach
+    void setUp() {
+        userProperties = new UserProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneQuery() throws Exception {
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(userProperties, meterRegistry);
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<User> results = new ArrayList<>();
+        List<Thread> callers = new ArrayList<>();
+
+        for (int i = 0; i < CALLERS; i++) {
+            callers.add(Thread.ofVirtual().start(() -> {
+                User found = coalescer.byId("123", () -> {
+                    queries.incrementAndGet();
+                    awaitQuietly(release);
+                    return user;
+                });
+                synchronized (results) {
+                    results.add(found);
+                }
+            }));
+        }
+        awaitCoalesced("id", CALLERS - 1);
+        assertEquals(1.0, meterRegistry.get(UserLookupCoalescer.IN_FLIGHT).gauge().value());
+
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertEquals(1, queries.get());
+        assertEquals(CALLERS, results.size());
+        results.forEach(found -> assertSame(user, found));
+        assertEquals(0.0, meterRegistry.get(UserLookupCoalescer.IN_FLIGHT).gauge().value());
+    }
+
+    @Test
+    void testFailureIsSharedAndNextCallQueriesAgain() throws Exception {
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(userProperties, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger notFound = new AtomicInteger();
+        Thread leader = Thread.ofVirtual().start(() -> {
+            try {
+                coalescer.byEmail("missing@example.com", () -> {
+                    awaitQuietly(release);
+                    throw new ResourceNotFoundException("User not found with email: missing@example.com");
+                });
+            } catch (ResourceNotFoundException ex) {
+                notFound.incrementAndGet();
+            }
+        });
+        awaitInFlight();
+        Thread follower = Thread.ofVirtual().start(() -> {
+            try {
+                coalescer.byEmail("missing@example.com", () -> user);
+            } catch (ResourceNotFoundException ex) {
+                notFound.incrementAndGet();
+            }
+        });
+        awaitCoalesced("email", 1);
+
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        assertEquals(2, notFound.get());
+        assertSame(user, coalescer.byEmail("missing@example.com", () -> user));
+    }
+
+    @Test
+    void testDisabledRunsEveryLookup() {
+        userProperties.getCoalescing().setEnabled(false);
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(userProperties, meterRegistry);
+        AtomicInteger queries = new AtomicInteger();
+
+        coalescer.byId("123", () -> {
+            // with coalescing on, this nested call would wait on the outer flight instead of querying
+            coalescer.byId("123", () -> {
+                queries.incrementAndGet();
+                return user;
+            });
+            queries.incrementAndGet();
+            return user;
+        });
+
+        assertEquals(2, queries.get());
+        assertEquals(0.0, meterRegistry.get(UserLookupCoalescer.COALESCED).tag("key", "id").counter().count());
+    }
+
+    private void awaitCoalesced(String key, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(UserLookupCoalescer.COALESCED).tag("key", key).counter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the flight");
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(UserLookupCoalescer.IN_FLIGHT).gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "lookup did not start");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
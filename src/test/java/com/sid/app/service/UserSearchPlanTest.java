@@ -0,0 +1,126 @@
+package com.sid.app.service;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sid.app.entity.User;
+import com.sid.app.repository.UserSearchFieldsCallback;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mapping.callback.EntityCallbacks;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks with {@code explain("queryPlanner")} that every {@link UserQueries#search} shape is answered from its index
+ * rather than a collection scan. Runs against an embedded {@code mongod} and is skipped where none can be started
+ * (no binary cached and no network to download one).
+ */
+class UserSearchPlanTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void startMongo() {
+        try {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+        } catch (RuntimeException ex) {
+            assumeTrue(false, "embedded mongod unavailable: " + ex.getMessage());
+        }
+        ServerAddress address = mongod.current().getServerAddress();
+        mongoClient = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(mongoClient, "users_plans");
+        mongoTemplate.setEntityCallbacks(EntityCallbacks.create(new UserSearchFieldsCallback()));
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext()).resolveIndexFor(User.class)
+                .forEach(index -> mongoTemplate.indexOps(User.class).createIndex(index));
+
+        // a few matches among many non-matches, so an _id walk is not competitive with the search indexes
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            users.add(User.builder().name("Common User " + i).email("user" + i + "@example.com").role("USER").build());
+        }
+        for (int i = 0; i < 5; i++) {
+            users.add(User.builder().name("Zelda Rare " + i).email("zelda" + i + "@rare.example").role("ADMIN").build());
+        }
+        mongoTemplate.insert(users, User.class);
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+        if (mongod != null) {
+            mongod.close();
+        }
+    }
+
+    @Test
+    void testNamePrefixUsesNameTokensIndex() {
+        assertIndexScan(UserQueries.search("zel", null, null, PAGE_SIZE), Set.of("nameTokens_id"));
+    }
+
+    @Test
+    void testDomainUsesEmailDomainIndex() {
+        assertIndexScan(UserQueries.search(null, "rare.example", null, PAGE_SIZE), Set.of("emailDomain_id"));
+    }
+
+    @Test
+    void testNameAndDomainUseASearchIndex() {
+        assertIndexScan(UserQueries.search("zel", "rare.example", null, PAGE_SIZE), Set.of("nameTokens_id", "emailDomain_id"));
+    }
+
+    private static void assertIndexScan(Query query, Set<String> expectedIndexes) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(User.class);
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .find(mapper.getMappedObject(query.getQueryObject(), entity))
+                .sort(mapper.getMappedSort(query.getSortObject(), entity))
+                .limit(query.getLimit())
+                .explain(ExplainVerbosity.QUERY_PLANNER);
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+
+        List<String> stages = new ArrayList<>();
+        List<String> indexes = new ArrayList<>();
+        collect(winningPlan, stages, indexes);
+
+        assertFalse(stages.contains("COLLSCAN"), "winning plan " + winningPlan.toJson());
+        assertTrue(stages.contains("IXSCAN"), "winning plan " + winningPlan.toJson());
+        assertTrue(indexes.stream().anyMatch(expectedIndexes::contains), "winning plan " + winningPlan.toJson());
+    }
+
+    private static void collect(Object node, List<String> stages, List<String> indexes) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            if (document.get("indexName") instanceof String index) {
+                indexes.add(index);
+            }
+            document.values().forEach(value -> collect(value, stages, indexes));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collect(value, stages, indexes));
+        }
+    }
+}
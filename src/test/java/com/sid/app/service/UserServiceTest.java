@@ -1,22 +1,55 @@
 package com.sid.app.service;
 
+import com.sid.app.audit.AuditAction;
+import com.sid.app.audit.AuditEvent;
+import com.sid.app.audit.AuditPublisher;
+import com.sid.app.cache.UserCache;
+import com.sid.app.cache.UserExistenceFilter;
+import com.sid.app.config.UserProperties;
 import com.sid.app.entity.User;
+import com.sid.app.exception.InvalidRequestException;
+import com.sid.app.exception.PreconditionFailedException;
 import com.sid.app.exception.ResourceNotFoundException;
+import com.sid.app.model.CursorPage;
+import com.sid.app.model.UserFilterRequest;
+import com.sid.app.model.UserMultiGetResult;
+import com.sid.app.model.UserPatchRequest;
+import com.sid.app.model.UserTimeRangeRequest;
 import com.sid.app.repository.UserRepository;
+import com.sid.app.util.CursorCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class UserServiceTest {
 
     private UserRepository userRepository;
+    private MongoTemplate mongoTemplate;
+    private UserProperties userProperties;
+    private UserCache userCache;
+    private AuditPublisher auditPublisher;
     private UserService userService;
 
     private User sampleUser;
@@ -24,7 +57,14 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         userRepository = Mockito.mock(UserRepository.class);
-        userService = new UserService(userRepository);
+        mongoTemplate = Mockito.mock(MongoTemplate.class);
+        userProperties = new UserProperties();
+        userCache = new UserCache(userProperties, new SimpleMeterRegistry());
+        auditPublisher = Mockito.mock(AuditPublisher.class);
+        userService = new UserService(userRepository, mongoTemplate, userProperties, userCache,
+                new MongoConcurrencyLimiter(userProperties, new SimpleMeterRegistry()), auditPublisher,
+                new UserExistenceFilter(mongoTemplate, userProperties, new SimpleMeterRegistry()),
+                new UserLookupCoalescer(userProperties, new SimpleMeterRegistry()));
 
         sampleUser = User.builder()
                 .id("123")
@@ -35,13 +75,198 @@ class UserServiceTest {
     }
 
     @Test
-    void testFindAll() {
-        when(userRepository.findAll()).thenReturn(List.of(sampleUser));
+    void testFindPage_LastPage() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(new ArrayList<>(List.of(sampleUser)));
 
-        List<User> result = userService.findAll();
+        CursorPage<User> page = userService.findPage(null, 10);
 
-        assertEquals(1, result.size());
-        assertEquals("john@example.com", result.get(0).getEmail());
+        assertEquals(1, page.getSize());
+        assertEquals("john@example.com", page.getItems().get(0).getEmail());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindPage_HasMore() {
+        User second = User.builder().id("456").name("Jane Doe").email("jane@example.com").role("USER").build();
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(new ArrayList<>(List.of(sampleUser, second)));
+
+        ObjectId after = new ObjectId();
+        CursorPage<User> page = userService.findPage(CursorCodec.encode(after.toHexString()), 1);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(User.class));
+        assertEquals(2, query.getValue().getLimit());
+        assertEquals(after, query.getValue().getQueryObject().get("id", Document.class).get("$gt"));
+        assertEquals(1, page.getSize());
+        assertEquals("123", CursorCodec.decode(page.getNextCursor(), 1)[0]);
+    }
+
+    @Test
+    void testFindPage_ClampsToMaxLimit() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(new ArrayList<>());
+
+        userService.findPage(null, 1_000_000);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(User.class));
+        assertEquals(userProperties.getPagination().getMaxLimit() + 1, query.getValue().getLimit());
+    }
+
+    @Test
+    void testFindPage_ProjectsRequestedFields() {
+        ObjectId id = new ObjectId();
+        Document first = new Document("_id", id).append("email", "john@example.com");
+        Document second = new Document("_id", new ObjectId()).append("email", "jane@example.com");
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(new ArrayList<>(List.of(first, second)));
+
+        CursorPage<Map<String, Object>> page = userService.findPage(CursorCodec.encode(new ObjectId().toHexString()), 1, "email");
+
+        assertEquals(List.of(Map.of("email", "john@example.com")), page.getItems());
+        assertEquals(id.toHexString(), CursorCodec.decode(page.getNextCursor(), 1)[0]);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("users"));
+        assertEquals(Set.of("_id", "email"), query.getValue().getFieldsObject().keySet());
+        assertInstanceOf(ObjectId.class, query.getValue().getQueryObject().get("_id", Document.class).get("$gt"));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(User.class));
+    }
+
+    @Test
+    void testFindPage_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.findPage("not*a*cursor", 10));
+    }
+
+    @Test
+    void testFindPage_RejectsCursorThatIsNotAnObjectId() {
+        assertThrows(InvalidRequestException.class,
+                () -> userService.findPage(CursorCodec.encode("100"), 10));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testSearch_UsesNormalizedIndexedFields() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(new ArrayList<>(List.of(sampleUser)));
+
+        CursorPage<User> page = userService.search("  John D ", "@Example.COM", null, null);
+
+        assertEquals(1, page.getSize());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(User.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals("example.com", filter.get("emailDomain"));
+        assertTrue(filter.containsKey("$and"));
+        assertFalse(filter.containsKey("email"));
+        assertEquals(userProperties.getSearch().getLimits().getDefaultLimit() + 1, query.getValue().getLimit());
+    }
+
+    @Test
+    void testSearch_RequiresCriteria() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.search(" ", null, null, null));
+    }
+
+    @Test
+    void testFilter_ProjectsRequestedFields() {
+        ObjectId id = new ObjectId();
+        Date createdAt = new Date(1_700_000_000_000L);
+        Document first = new Document("_id", id).append("name", "John Doe").append("createdAt", createdAt);
+        Document second = new Document("_id", new ObjectId()).append("name", "Jane Doe").append("createdAt", createdAt);
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(new ArrayList<>(List.of(first, second)));
+
+        CursorPage<Map<String, Object>> page = userService.filter(UserFilterRequest.builder()
+                .role("ADMIN")
+                .status("ACTIVE")
+                .createdAfter(Instant.ofEpochMilli(0))
+                .fields("id,name")
+                .limit(1)
+                .build());
+
+        assertEquals(1, page.getSize());
+        assertEquals(Map.of("id", id.toHexString(), "name", "John Doe"), page.getItems().get(0));
+        assertArrayEquals(new String[]{"1700000000000", id.toHexString()}, CursorCodec.decode(page.getNextCursor(), 2));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("users"));
+        Document fields = query.getValue().getFieldsObject();
+        assertEquals(Set.of("_id", "name", "createdAt"), fields.keySet());
+        assertEquals(-1, query.getValue().getSortObject().get("createdAt"));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(User.class));
+    }
+
+    @Test
+    void testFilter_RejectsUnknownField() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.filter(UserFilterRequest.builder().fields("id,password").build()));
+    }
+
+    @Test
+    void testFindInTimeRange_ResumesAfterCursorOnUpdatedAt() {
+        ObjectId id = new ObjectId();
+        Document changed = new Document("_id", id).append("updatedAt", new Date(1_700_000_000_000L));
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(new ArrayList<>(List.of(changed)));
+
+        CursorPage<Map<String, Object>> page = userService.findInTimeRange(UserTimeRangeRequest.builder()
+                .since(Instant.ofEpochMilli(0))
+                .cursor(CursorCodec.encode("1600000000000", new ObjectId().toHexString()))
+                .fields("id")
+                .build());
+
+        assertEquals(1, page.getSize());
+        assertNull(page.getNextCursor());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("users"));
+        assertEquals(1, query.getValue().getSortObject().get("updatedAt"));
+        assertEquals(Set.of("_id", "updatedAt"), query.getValue().getFieldsObject().keySet());
+        assertTrue(query.getValue().getQueryObject().containsKey("$and"));
+    }
+
+    @Test
+    void testFindInTimeRange_WithoutSinceExcludesLegacyDocumentsWithoutTimestamp() {
+        // written before createdAt/updatedAt existed; its null timestamp cannot become a keyset cursor
+        Document legacy = new Document("_id", new ObjectId()).append("name", "Legacy User");
+        Document changed = new Document("_id", new ObjectId()).append("updatedAt", new Date(1_700_000_000_000L));
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenAnswer(invocation -> {
+            Document filter = invocation.getArgument(0, Query.class).getQueryObject();
+            boolean excludesMissing = filter.containsKey("$and") && filter.getList("$and", Document.class).stream()
+                    .anyMatch(criterion -> criterion.containsKey("updatedAt")
+                            && criterion.get("updatedAt", Document.class).containsKey("$ne")
+                            && criterion.get("updatedAt", Document.class).get("$ne") == null);
+            // an ascending sort puts documents missing the field first
+            return new ArrayList<>(excludesMissing ? List.of(changed) : List.of(legacy, changed));
+        });
+
+        CursorPage<Map<String, Object>> page = userService.findInTimeRange(UserTimeRangeRequest.builder().limit(1).build());
+
+        assertEquals(1, page.getSize());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindInTimeRange_RejectsInvalidRange() {
+        Instant now = Instant.now();
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.findInTimeRange(UserTimeRangeRequest.builder().since(now).until(now).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.findInTimeRange(UserTimeRangeRequest.builder().field("deletedAt").build()));
+    }
+
+    @Test
+    void testStreamAll_ResumesAfterId() {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenReturn(Stream.of(sampleUser));
+
+        ObjectId after = new ObjectId();
+        try (Stream<User> users = userService.streamAll(after.toHexString(), 50)) {
+            assertEquals(1, users.count());
+        }
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(User.class));
+        assertEquals(50, query.getValue().getMeta().getCursorBatchSize());
+        assertEquals(after, query.getValue().getQueryObject().get("id", Document.class).get("$gt"));
     }
 
     @Test
@@ -54,6 +279,69 @@ class UserServiceTest {
         assertEquals("John Doe", result.getName());
     }
 
+    @Test
+    void testFindById_ServedFromCache() {
+        when(userRepository.findById("123")).thenReturn(Optional.of(sampleUser));
+
+        userService.findById("123");
+        User result = userService.findById("123");
+
+        assertEquals("John Doe", result.getName());
+        verify(userRepository, times(1)).findById("123");
+    }
+
+    @Test
+    void testFindByIdWithFields_ReadsOnlyThoseFields() {
+        ObjectId id = new ObjectId();
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(new Document("_id", id).append("name", "John Doe"));
+
+        Map<String, Object> view = userService.findById(id.toHexString(), "id,name");
+
+        assertEquals(Map.of("id", id.toHexString(), "name", "John Doe"), view);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(Document.class), eq("users"));
+        assertEquals(Set.of("_id", "name"), query.getValue().getFieldsObject().keySet());
+        assertNull(userCache.getById(id.toHexString()));
+    }
+
+    @Test
+    void testFindByIdWithFields_ServedFromCache() {
+        userCache.put(sampleUser);
+
+        Map<String, Object> view = userService.findById("123", "email");
+
+        assertEquals(Map.of("email", "john@example.com"), view);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testFindByIdWithFields_NotFound() {
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.findById("999", "id"));
+    }
+
+    @Test
+    void testFindByEmail_ServedFromCache() {
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(sampleUser));
+
+        userService.findByEmail("john@example.com");
+        User result = userService.findByEmail("john@example.com");
+
+        assertEquals("123", result.getId());
+        verify(userRepository, times(1)).findByEmail("john@example.com");
+    }
+
+    @Test
+    void testFindByEmail_NotFound() {
+        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> userService.findByEmail("missing@example.com"));
+    }
+
     @Test
     void testFindById_NotFound() {
         when(userRepository.findById("999")).thenReturn(Optional.empty());
@@ -62,42 +350,266 @@ class UserServiceTest {
                 () -> userService.findById("999"));
     }
 
+    @Test
+    void testFindById_RuledOutByExistenceFilter() {
+        userProperties.getExistenceFilter().setEnabled(true);
+        userProperties.getExistenceFilter().setExpectedUsers(1000);
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("users"))).thenReturn(Stream.empty());
+        UserExistenceFilter existenceFilter = new UserExistenceFilter(mongoTemplate, userProperties, new SimpleMeterRegistry());
+        existenceFilter.rebuild();
+        userService = new UserService(userRepository, mongoTemplate, userProperties, userCache,
+                new MongoConcurrencyLimiter(userProperties, new SimpleMeterRegistry()), auditPublisher, existenceFilter,
+                new UserLookupCoalescer(userProperties, new SimpleMeterRegistry()));
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.findById("999"));
+        assertThrows(ResourceNotFoundException.class, () -> userService.findByEmail("missing@example.com"));
+        verifyNoInteractions(userRepository);
+
+        when(userRepository.save(any(User.class))).thenReturn(sampleUser);
+        userService.create(newUser());
+        userCache.evict("123");
+        when(userRepository.findById("123")).thenReturn(Optional.of(sampleUser));
+
+        assertEquals(sampleUser, userService.findById("123"));
+    }
+
+    @Test
+    void testFindByIds_OneQueryInRequestOrder() {
+        User cached = User.builder().id("456").name("Jane Doe").email("jane@example.com").role("USER").build();
+        userCache.put(cached);
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(new ArrayList<>(List.of(sampleUser)));
+
+        UserMultiGetResult result = userService.findByIds(List.of("999", "123", "456", "123", " "));
+
+        assertEquals(List.of(sampleUser, cached), result.getUsers());
+        assertEquals(List.of("999"), result.getMissing());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(1)).find(query.capture(), eq(User.class));
+        assertEquals(List.of("999", "123"), query.getValue().getQueryObject().get("id", Document.class).get("$in"));
+        assertSame(sampleUser, userCache.getById("123"));
+    }
+
+    @Test
+    void testFindByIds_AllCachedSkipsMongo() {
+        userCache.put(sampleUser);
+
+        UserMultiGetResult result = userService.findByIds(List.of("123"));
+
+        assertEquals(List.of(sampleUser), result.getUsers());
+        assertTrue(result.getMissing().isEmpty());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void testFindByIds_RejectsMoreThanMaxIds() {
+        userProperties.getMultiGet().setMaxIds(2);
+
+        assertThrows(InvalidRequestException.class, () -> userService.findByIds(List.of("1", "2", "3")));
+        assertThrows(InvalidRequestException.class, () -> userService.findByIds(List.of("", " ")));
+        verifyNoInteractions(mongoTemplate);
+    }
+
     @Test
     void testCreate() {
+        User request = newUser();
         when(userRepository.save(any(User.class))).thenReturn(sampleUser);
 
-        User result = userService.create(sampleUser);
+        User result = userService.create(request);
 
         assertNotNull(result);
         assertEquals("123", result.getId());
-        verify(userRepository, times(1)).save(sampleUser);
+        verify(userRepository, times(1)).save(request);
     }
 
     @Test
-    void testUpdate() {
-        when(userRepository.findById("123")).thenReturn(Optional.of(sampleUser));
-        when(userRepository.save(any(User.class))).thenReturn(sampleUser);
+    void testCreate_KeepsClientObjectId() {
+        User request = newUser();
+        request.setId(new ObjectId().toHexString());
+        when(userRepository.save(any(User.class))).thenReturn(request);
+
+        assertEquals(request.getId(), userService.create(request).getId());
+    }
+
+    @Test
+    void testCreate_RejectsIdThatIsNotAnObjectId() {
+        User request = newUser();
+        request.setId("user-42");
+
+        assertThrows(InvalidRequestException.class, () -> userService.create(request));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testCreate_PublishesAuditEvent() {
+        // create() clears the version before saving; the saved copy carries the one Spring Data assigned
+        User saved = User.builder().id("123").name("John Doe").email("john@example.com").role("USER").version(0L).build();
+        when(userRepository.save(any(User.class))).thenReturn(saved);
+
+        userService.create(newUser());
 
+        ArgumentCaptor<AuditEvent> event = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditPublisher).publish(event.capture());
+        assertEquals(AuditAction.CREATE, event.getValue().getAction());
+        assertEquals("123", event.getValue().getUserId());
+        assertEquals(0L, event.getValue().getVersion());
+        assertNotNull(event.getValue().getId());
+    }
+
+    @Test
+    void testUpdate() {
         User updated = User.builder()
                 .id("123")
                 .name("Jane Doe")
                 .email("jane@example.com")
                 .role("ADMIN")
                 .build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(updated);
 
-        User result = userService.update("123", updated);
+        User result = userService.update("123", updated, null);
 
         assertEquals("Jane Doe", result.getName());
         assertEquals("ADMIN", result.getRole());
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(User.class));
+        assertTrue(update.getValue().modifies("email"));
+        assertTrue(update.getValue().modifies("updatedAt"));
+        assertTrue(update.getValue().modifies("version"));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void testUpdate_NotFound() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(null);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> userService.update("999", sampleUser, null));
+    }
+
+    @Test
+    void testUpdate_StaleVersion() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(null);
+        when(mongoTemplate.exists(any(Query.class), eq(User.class))).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class,
+                () -> userService.update("123", sampleUser, 1L));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class), eq(User.class));
+        assertEquals(1L, query.getValue().getQueryObject().get("version"));
+    }
+
+    @Test
+    void testFindVersion() {
+        sampleUser.setVersion(7L);
+        when(mongoTemplate.findOne(any(Query.class), eq(User.class))).thenReturn(sampleUser);
+
+        assertEquals(7L, userService.findVersion("123"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(User.class));
+        assertTrue(query.getValue().getFieldsObject().containsKey("version"));
+    }
+
+    @Test
+    void testPatch_SetsOnlySuppliedFields() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(sampleUser);
+
+        userService.patch("123", UserPatchRequest.builder().status("SUSPENDED").build(), null);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(User.class));
+        assertTrue(update.getValue().modifies("status"));
+        assertFalse(update.getValue().modifies("name"));
+        assertFalse(update.getValue().modifies("email"));
+    }
+
+    @Test
+    void testPatch_Empty() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.patch("123", new UserPatchRequest(), null));
     }
 
     @Test
     void testDelete() {
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(User.class))).thenReturn(sampleUser);
+
+        userService.delete("123", null);
+
+        verify(mongoTemplate, times(1)).findAndRemove(any(Query.class), eq(User.class));
+        verify(userRepository, never()).findById(any());
+        verify(auditPublisher).publish(argThat(event -> event.getAction() == AuditAction.DELETE && "123".equals(event.getUserId())));
+    }
+
+    @Test
+    void testUpdate_RefreshesCache() {
+        when(userRepository.findById("123")).thenReturn(Optional.of(sampleUser));
+        userService.findById("123");
+        User updated = User.builder().id("123").name("Jane Doe").email("jane@example.com").role("USER").version(1L).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(updated);
+
+        userService.update("123", updated, null);
+
+        assertEquals("Jane Doe", userService.findById("123").getName());
+        assertEquals("123", userService.findByEmail("jane@example.com").getId());
+        verify(userRepository, times(1)).findById("123");
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void testDelete_EvictsCache() {
         when(userRepository.findById("123")).thenReturn(Optional.of(sampleUser));
-        doNothing().when(userRepository).delete(sampleUser);
+        userService.findById("123");
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(User.class))).thenReturn(sampleUser);
+
+        userService.delete("123", null);
+        userService.findById("123");
+
+        verify(userRepository, times(2)).findById("123");
+    }
+
+    @Test
+    void testDelete_LookupRacingTheDeleteIsNotCached() {
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(User.class))).thenReturn(sampleUser);
+        // the read returns the user, but the delete commits and evicts before the read's put
+        when(userRepository.findById("123")).thenAnswer(invocation -> {
+            userService.delete("123", null);
+            return Optional.of(sampleUser);
+        });
+
+        assertSame(sampleUser, userService.findById("123"));
 
-        userService.delete("123");
+        assertNull(userCache.getById("123"));
+        assertNull(userCache.getByEmail("john@example.com"));
+    }
+
+    @Test
+    void testFindById_LookupRacingACacheClearIsNotCached() {
+        when(userRepository.findById("123")).thenAnswer(invocation -> {
+            userCache.clear();
+            return Optional.of(sampleUser);
+        });
+
+        userService.findById("123");
+
+        assertNull(userCache.getById("123"));
+    }
+
+    @Test
+    void testDelete_NotFound() {
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(User.class))).thenReturn(null);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> userService.delete("999", null));
+        verifyNoInteractions(auditPublisher);
+    }
 
-        verify(userRepository, times(1)).delete(sampleUser);
+    private static User newUser() {
+        return User.builder().name("John Doe").email("john@example.com").role("USER").build();
     }
 }
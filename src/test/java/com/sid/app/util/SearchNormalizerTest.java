@@ -0,0 +1,28 @@
+package com.sid.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchNormalizerTest {
+
+    @Test
+    void testEmailDomain() {
+        assertEquals("gmail.com", SearchNormalizer.emailDomain("John.Doe@GMail.com"));
+        assertNull(SearchNormalizer.emailDomain("no-domain"));
+        assertNull(SearchNormalizer.emailDomain(null));
+    }
+
+    @Test
+    void testNameTokens() {
+        assertEquals(List.of("john", "doe"), SearchNormalizer.nameTokens("  John   DOE john "));
+        assertTrue(SearchNormalizer.nameTokens(" ").isEmpty());
+    }
+
+    @Test
+    void testPrefixRegexEscapesMetacharacters() {
+        assertEquals("^o\\.b\\+", SearchNormalizer.prefixRegex("o.b+"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.sid.app.util;
+
+import com.sid.app.entity.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserProjectionTest {
+
+    @Test
+    void testParseDefaultsToAllFields() {
+        assertEquals(UserProjection.FIELDS, List.copyOf(UserProjection.parse(null)));
+    }
+
+    @Test
+    void testParseKeepsRequestOrder() {
+        assertEquals(List.of("email", "id"), List.copyOf(UserProjection.parse(" email, id ,")));
+    }
+
+    @Test
+    void testToViewUsesUserJsonConventions() {
+        ObjectId id = new ObjectId();
+        Document document = new Document("_id", id)
+                .append("createdAt", Date.from(Instant.parse("2024-01-02T03:04:05Z")))
+                .append("address", null);
+
+        Map<String, Object> view = UserProjection.toView(document, Set.of("id"));
+        assertEquals(Map.of("id", id.toHexString()), view);
+
+        view = UserProjection.toView(document, UserProjection.parse("createdAt,phone"));
+        assertEquals("2024-01-02T03:04:05.000Z", view.get("createdAt"));
+        assertTrue(view.containsKey("phone"));
+        assertNull(view.get("phone"));
+    }
+
+    @Test
+    void testToViewFromUserMatchesDocumentView() {
+        ObjectId id = new ObjectId();
+        Instant createdAt = Instant.parse("2024-01-02T03:04:05Z");
+        User user = User.builder().id(id.toHexString()).name("John Doe").createdAt(createdAt).version(2L).build();
+        Document document = new Document("_id", id).append("name", "John Doe")
+                .append("createdAt", Date.from(createdAt)).append("version", 2L);
+        Set<String> fields = UserProjection.parse("version,createdAt,name,id,updatedAt");
+
+        assertEquals(UserProjection.toView(document, fields), UserProjection.toView(user, fields));
+        assertEquals(List.of("version", "createdAt", "name", "id", "updatedAt"),
+                List.copyOf(UserProjection.toView(user, fields).keySet()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.sid.app.util;
+
+import com.sid.app.constant.AppConstants;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UtcInstantSerializerTest {
+
+    private static final DateTimeFormatter PATTERN =
+            DateTimeFormatter.ofPattern(AppConstants.TIMESTAMP_PATTERN).withZone(ZoneOffset.UTC);
+
+    @Test
+    void testFormatMatchesPatternOnEdgeDates() {
+        for (String instant : new String[]{
+                "1970-01-01T00:00:00Z", "1969-12-31T23:59:59.999Z", "2000-02-29T12:30:45.123456789Z",
+                "2024-03-01T00:00:00Z", "2100-02-28T23:59:59.5Z", "0000-01-01T00:00:00Z", "9999-12-31T23:59:59.999Z"}) {
+            Instant value = Instant.parse(instant);
+            assertEquals(PATTERN.format(value), UtcInstantSerializer.format(value), instant);
+        }
+    }
+
+    @Test
+    void testFormatMatchesPatternOnRandomInstants() {
+        Random random = new Random(42);
+        long min = Instant.parse("0000-01-01T00:00:00Z").getEpochSecond();
+        long max = Instant.parse("9999-12-31T23:59:59Z").getEpochSecond();
+        for (int i = 0; i < 10_000; i++) {
+            Instant value = Instant.ofEpochSecond(min + (long) (random.nextDouble() * (max - min)), random.nextInt(1_000_000_000));
+            assertEquals(PATTERN.format(value), UtcInstantSerializer.format(value), value.toString());
+        }
+    }
+
+    @Test
+    void testFormatFallsBackOutsideFourDigitYears() {
+        Instant farFuture = Instant.parse("+10000-01-01T00:00:00Z");
+        assertFalse(UtcInstantSerializer.write(farFuture, new char[24]));
+        assertEquals(PATTERN.format(farFuture), UtcInstantSerializer.format(farFuture));
+    }
+}
@@ -0,0 +1,181 @@
+package com.sid.app.web;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.sid.app.config.CompressionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ResponseCompressionFilterTest {
+
+    private static final byte[] LARGE_JSON = ("[" + "{\"name\":\"John Doe\",\"email\":\"john@example.com\"},".repeat(200) + "{}]")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private SimpleMeterRegistry registry;
+    private ResponseCompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new ResponseCompressionFilter(new CompressionProperties(), registry);
+    }
+
+    @Test
+    void testGzipLargeJsonBody() throws Exception {
+        MockHttpServletResponse response = run("gzip, deflate", body("application/json", LARGE_JSON));
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertArrayEquals(LARGE_JSON, in.readAllBytes());
+        }
+        double ratio = registry.get(ResponseCompressionFilter.RATIO).tag("encoding", "gzip").summary().mean();
+        assertTrue(ratio > 5, "ratio " + ratio);
+        assertEquals(1, registry.get(ResponseCompressionFilter.TIME).tag("encoding", "gzip").timer().count());
+    }
+
+    @Test
+    void testZstdPreferredWhenAccepted() throws Exception {
+        MockHttpServletResponse response = run("gzip, zstd", body("application/json", LARGE_JSON));
+
+        assertEquals("zstd", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertArrayEquals(LARGE_JSON, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testSmallBodySentAsIs() throws Exception {
+        byte[] small = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+
+        MockHttpServletResponse response = run("gzip", body("application/json", small));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(small, response.getContentAsByteArray());
+        assertEquals(small.length, response.getContentLength());
+        assertEquals(1, registry.get(ResponseCompressionFilter.SKIPPED).tag("reason", "below-min-size").counter().count());
+    }
+
+    @Test
+    void testSkipsAlreadyEncodedAndUnlistedTypes() throws Exception {
+        MockHttpServletResponse encoded = run("gzip", (request, response) -> {
+            ((HttpServletResponse) response).setHeader(HttpHeaders.CONTENT_ENCODING, "br");
+            body("application/json", LARGE_JSON).doFilter(request, response);
+        });
+        MockHttpServletResponse image = run("gzip", body("image/png", LARGE_JSON));
+
+        assertEquals("br", encoded.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE_JSON, encoded.getContentAsByteArray());
+        assertNull(image.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE_JSON, image.getContentAsByteArray());
+        assertEquals(1, registry.get(ResponseCompressionFilter.SKIPPED).tag("reason", "already-encoded").counter().count());
+        assertEquals(1, registry.get(ResponseCompressionFilter.SKIPPED).tag("reason", "mime-type").counter().count());
+    }
+
+    @Test
+    void testNoAcceptEncodingPassesThrough() throws Exception {
+        MockHttpServletResponse response = run(null, body("application/json", LARGE_JSON));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(LARGE_JSON, response.getContentAsByteArray());
+    }
+
+    @Test
+    void testVaryOnCompressibleResponsesSentAsIs() throws Exception {
+        byte[] small = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+
+        MockHttpServletResponse plain = run(null, body("application/json", LARGE_JSON));
+        MockHttpServletResponse belowThreshold = run("gzip", body("application/json", small));
+        MockHttpServletResponse image = run(null, body("image/png", LARGE_JSON));
+        MockHttpServletResponse alreadyVaries = run("gzip", (request, response) -> {
+            ((HttpServletResponse) response).addHeader(HttpHeaders.VARY, "Accept, Accept-Encoding");
+            body("application/json", LARGE_JSON).doFilter(request, response);
+        });
+
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), plain.getHeaders(HttpHeaders.VARY));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), belowThreshold.getHeaders(HttpHeaders.VARY));
+        assertTrue(image.getHeaders(HttpHeaders.VARY).isEmpty());
+        assertEquals("gzip", alreadyVaries.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of("Accept, Accept-Encoding"), alreadyVaries.getHeaders(HttpHeaders.VARY));
+    }
+
+    @Test
+    void testWriteListenerSendsBodyUncompressed() throws Exception {
+        WriteListener listener = mock(WriteListener.class);
+        ServletOutputStream containerStream = mock(ServletOutputStream.class);
+        MockHttpServletResponse container = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return containerStream;
+            }
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        filter.doFilter(request, container, (req, response) -> {
+            response.setContentType("application/json");
+            response.getOutputStream().setWriteListener(listener);
+            response.getOutputStream().write(LARGE_JSON);
+        });
+
+        verify(containerStream).setWriteListener(listener);
+        verify(containerStream).write(LARGE_JSON, 0, LARGE_JSON.length);
+        assertNull(container.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testIsAcceptedByHonoursZeroQuality() {
+        assertTrue(ContentCoding.GZIP.isAcceptedBy("gzip, deflate"));
+        assertTrue(ContentCoding.GZIP.isAcceptedBy("br, *;q=0.1"));
+        assertFalse(ContentCoding.GZIP.isAcceptedBy("gzip;q=0, identity"));
+        assertFalse(ContentCoding.GZIP.isAcceptedBy("x-gzip-ish"));
+        assertFalse(ContentCoding.GZIP.isAcceptedBy(null));
+    }
+
+    @Test
+    void testNegotiateHonoursZeroQuality() {
+        List<ContentCoding> offered = List.of(ContentCoding.ZSTD, ContentCoding.GZIP);
+
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("zstd;q=0, gzip;q=0.5", offered));
+        assertEquals(ContentCoding.ZSTD, ContentCoding.negotiate("*", offered));
+        assertNull(ContentCoding.negotiate("br, identity", offered));
+        assertNull(ContentCoding.negotiate("gzip;q=0", List.of(ContentCoding.GZIP)));
+    }
+
+    private MockHttpServletResponse run(String acceptEncoding, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static FilterChain body(String contentType, byte[] bytes) {
+        return (request, response) -> {
+            response.setContentType(contentType);
+            // write in chunks, the way message converters do
+            for (int off = 0; off < bytes.length; off += 1024) {
+                response.getOutputStream().write(bytes, off, Math.min(1024, bytes.length - off));
+            }
+        };
+    }
+}